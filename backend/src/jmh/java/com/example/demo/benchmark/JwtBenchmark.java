@@ -0,0 +1,58 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.security.JwtKeyRing;
+import com.example.demo.security.JwtProperties;
+import com.example.demo.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de emissão e validação de tokens JWT (JwtUtil), com chave HS256 e ES256.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            key.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+            key.setPublicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+        } else {
+            key.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        }
+        JwtProperties properties = new JwtProperties();
+        properties.getKeys().put("bench", key);
+        jwtUtil = new JwtUtil(new JwtKeyRing(properties), properties);
+        token = jwtUtil.generateToken(1L, "admin");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(1L, "admin");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
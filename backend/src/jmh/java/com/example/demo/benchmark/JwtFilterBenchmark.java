@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.JwtKeyRing;
+import com.example.demo.security.JwtProperties;
+import com.example.demo.security.JwtTokenCache;
+import com.example.demo.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do filtro JWT por requisição autenticada (JwtAuthenticationFilter.doFilterInternal),
+ * isolado do restante da cadeia de filtros. Como o mesmo token é reenviado, mede o caminho
+ * com acerto no JwtTokenCache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing(properties), properties);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(new JwtTokenCache(jwtUtil, meterRegistry, 10_000), meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(1L, "admin"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga HTTP comparando os modos de execução das requisições:
+ * threads de plataforma (pool do Tomcat) e virtual threads (spring.threads.virtual.enabled).
+ * <p>
+ * Para cada modo, sobe a aplicação completa em porta aleatória, popula a tabela e dispara
+ * requisições autenticadas de N clientes concorrentes (sem pausa entre requisições) durante
+ * um tempo fixo, após um aquecimento. Reporta vazão, p50, p99, máximo e erros, e grava o
+ * resultado em target/loadtest-result.json.
+ * <p>
+ * O banco padrão é o H2 em modo PostgreSQL; como ele roda em memória, cada comando JDBC recebe
+ * uma latência artificial (db-latency-ms) que simula a ida e volta até um PostgreSQL real.
+ * Para usar um PostgreSQL local (ex: docker compose up db), informe jdbc-url, db-user e db-password.
+ * O modo virtual exige Java 21+; em versões anteriores ele é ignorado.
+ * <p>
+ * Opções (chave=valor): modes=platform,virtual concurrency=400 warmup=10 duration=30 rows=10000
+ * db-latency-ms=2 mix=get:70,list:20,create:10
+ */
+public class LoadTest {
+
+    /**
+     * Resultado de um modo.
+     */
+    record Result(String mode, long requests, long errors, double seconds, long p50Micros, long p99Micros, long maxMicros) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+                System.out.println("Modo virtual ignorado: requer Java 21+ (atual: " + Runtime.version() + ")");
+                continue;
+            }
+            results.add(run(mode, options));
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "modo", "req/s", "p50 (ms)", "p99 (ms)", "max (ms)", "erros");
+        StringBuilder json = new StringBuilder("[");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", r.mode(), r.throughput(),
+                    r.p50Micros() / 1000.0, r.p99Micros() / 1000.0, r.maxMicros() / 1000.0, r.errors());
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Micros\":%d,\"p99Micros\":%d,\"maxMicros\":%d}",
+                    r.mode(), r.requests(), r.errors(), r.throughput(), r.p50Micros(), r.p99Micros(), r.maxMicros()));
+        }
+        json.append(']');
+        Path output = Path.of("target", "loadtest-result.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json.toString());
+        System.out.println("Resultado gravado em " + output.toAbsolutePath());
+    }
+
+    private static Result run(String mode, Map<String, String> options) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "logging.level.root=WARN",
+                // Mede a capacidade do servidor, não o limite por usuário
+                "rate-limit.enabled=false",
+                "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                "loadtest.db-latency-ms=" + options.getOrDefault("db-latency-ms", "2")));
+        String jdbcUrl = options.get("jdbc-url");
+        if (jdbcUrl != null) {
+            properties.add("spring.datasource.url=" + jdbcUrl);
+            properties.add("spring.datasource.username=" + options.getOrDefault("db-user", "user_nexdom"));
+            properties.add("spring.datasource.password=" + options.getOrDefault("db-password", "password_nexdom"));
+        } else {
+            // Banco novo por modo, para que as execuções partam do mesmo estado
+            properties.add("spring.datasource.url=jdbc:h2:mem:loadtest_" + mode
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        }
+
+        System.out.println("Iniciando modo " + mode + "...");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class, DbLatency.class)
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+            Long ownerId = loadTestUser(context.getBean(UserService.class));
+            List<Long> ids = seed(context.getBean(TaskRepository.class), ownerId, Integer.parseInt(options.getOrDefault("rows", "10000")));
+            String token = context.getBean(JwtUtil.class).generateToken(ownerId, "loadtest");
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+            return drive(mode, baseUrl, token, ids, options);
+        }
+    }
+
+    // Todas as requisições usam o mesmo usuário, dono das tarefas semeadas
+    private static Long loadTestUser(UserService userService) {
+        try {
+            return userService.loadUserByUsername("loadtest").getId();
+        } catch (UsernameNotFoundException e) {
+            return userService.register("loadtest", "loadtest-password").getId();
+        }
+    }
+
+    private static List<Long> seed(TaskRepository repository, Long ownerId, int rows) {
+        List<Long> ids = new ArrayList<>(rows);
+        for (int start = 0; start < rows; start += 1000) {
+            List<Task> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + 1000, rows); i++) {
+                Task task = newTask(i);
+                task.setOwnerId(ownerId);
+                chunk.add(task);
+            }
+            repository.saveAll(chunk).forEach(task -> ids.add(task.getId()));
+        }
+        return ids;
+    }
+
+    private static Task newTask(int i) {
+        Task task = new Task();
+        task.setTitle("Tarefa " + i);
+        task.setDescription("Descrição " + i);
+        task.setStatus(i % 3 == 0 ? TaskStatus.CONCLUIDA : TaskStatus.PENDENTE);
+        task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+        return task;
+    }
+
+    private static Result drive(String mode, String baseUrl, String token, List<Long> ids,
+                                Map<String, String> options) throws Exception {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "30")));
+        int[] mix = parseMix(options.getOrDefault("mix", "get:70,list:20,create:10"));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        // Clientes em threads de plataforma nos dois modos: só o servidor muda entre as execuções
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long errors = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    HttpRequest request = nextRequest(random, mix, baseUrl, token, ids);
+                    long t0 = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    long t1 = System.nanoTime();
+                    if (t0 < measureFrom || t1 > end) {
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = t1 - t0;
+                    if (!ok) {
+                        errors++;
+                    }
+                }
+                // Último elemento carrega a contagem de erros
+                long[] result = Arrays.copyOf(latencies, count + 1);
+                result[count] = errors;
+                return result;
+            }));
+        }
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<long[]> future : futures) {
+            long[] worker = future.get();
+            errors += worker[worker.length - 1];
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + worker.length - 1);
+            System.arraycopy(worker, 0, all, offset, worker.length - 1);
+        }
+        workers.shutdown();
+        Arrays.sort(all);
+        return new Result(mode, all.length, errors, durationNanos / 1e9,
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1000);
+    }
+
+    private static HttpRequest nextRequest(ThreadLocalRandom random, int[] mix, String baseUrl, String token, List<Long> ids) {
+        int roll = random.nextInt(mix[0] + mix[1] + mix[2]);
+        HttpRequest.Builder builder = HttpRequest.newBuilder().header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30));
+        if (roll < mix[0]) {
+            return builder.uri(URI.create(baseUrl + "/" + ids.get(random.nextInt(ids.size())))).GET().build();
+        }
+        if (roll < mix[0] + mix[1]) {
+            return builder.uri(URI.create(baseUrl + "?status=PENDENTE&limit=50&sort=createdAt&direction=desc")).GET().build();
+        }
+        return builder.uri(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Carga\",\"description\":\"Gerada pelo teste de carga\"}"))
+                .build();
+    }
+
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[3];
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":");
+            int weight = Integer.parseInt(kv[1]);
+            switch (kv[0]) {
+                case "get" -> weights[0] = weight;
+                case "list" -> weights[1] = weight;
+                case "create" -> weights[2] = weight;
+                default -> throw new IllegalArgumentException("Operação desconhecida no mix: " + kv[0]);
+            }
+        }
+        return weights;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1000;
+    }
+
+    /**
+     * Injeta a latência de rede de um banco remoto em cada comando JDBC (e no commit),
+     * mantendo a conexão ocupada durante a espera, como aconteceria com o PostgreSQL.
+     * Registrada apenas como fonte do SpringApplicationBuilder (fora do component scan).
+     */
+    static class DbLatency {
+
+        @Bean
+        static BeanPostProcessor dbLatencyInjector(@Value("${loadtest.db-latency-ms:0}") long latencyMs) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (latencyMs <= 0 || !(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return delayed(super.getConnection(), latencyMs);
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection delayed(Connection connection, long latencyMs) {
+            return (Connection) Proxy.newProxyInstance(LoadTest.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("prepare") || name.equals("createStatement") || name.equals("commit")) {
+                            Thread.sleep(latencyMs);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compara o tempo de inicialização e a latência das primeiras requisições entre os modos de execução do backend:
+ * jvm (java -jar), cds (arquivo AppCDS de uma execução de treino), aot (código gerado pelo Spring AOT na JVM)
+ * e native (executável GraalVM).
+ * <p>
+ * Cada execução sobe o artefato empacotado em um processo novo, em porta livre, e mede o tempo até o
+ * /actuator/health responder 200; em seguida, a latência do primeiro login, da primeira listagem e da
+ * segunda (já aquecida), e a memória residente do processo (Linux). Reporta a mediana das execuções e grava
+ * o resultado em target/startup-result.json; a saída de cada modo fica em target/startup-&lt;modo&gt;.log.
+ * <p>
+ * Requer o PostgreSQL (ex: docker compose up db) e os artefatos já gerados: ./mvnw -DskipTests package para
+ * jvm e cds (o arquivo CDS é treinado aqui, em target/cds, quando falta ou é mais antigo que o JAR),
+ * ./mvnw -Pnative -DskipTests package para aot e ./mvnw -Pnative -DskipTests native:compile para native.
+ * Modos sem artefato são ignorados.
+ * <p>
+ * Opções (chave=valor): variants=jvm,cds,aot,native runs=5 jar=target/demo-0.0.1-SNAPSHOT.jar native=target/demo
+ * jdbc-url=jdbc:postgresql://localhost:5432/task_db db-user=user_nexdom db-password=password_nexdom
+ * username=admin password=admin123
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Path CDS_DIRECTORY = Path.of("target", "cds");
+
+    /**
+     * Medidas de uma execução.
+     */
+    record Sample(long startupMillis, long loginMicros, long firstListMicros, long secondListMicros, long rssKb) {
+    }
+
+    /**
+     * Medianas de um modo.
+     */
+    record Result(String variant, int runs, long startupMillis, long loginMicros, long firstListMicros,
+                  long secondListMicros, long rssKb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+
+        List<Result> results = new ArrayList<>();
+        for (String variant : options.getOrDefault("variants", "jvm,cds,aot,native").split(",")) {
+            List<String> command = command(variant, options);
+            if (command == null) {
+                continue;
+            }
+            System.out.println("Medindo modo " + variant + "...");
+            List<Sample> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(launch(variant, command, options));
+            }
+            results.add(new Result(variant, runs, median(samples, Sample::startupMillis), median(samples, Sample::loginMicros),
+                    median(samples, Sample::firstListMicros), median(samples, Sample::secondListMicros),
+                    median(samples, Sample::rssKb)));
+        }
+
+        System.out.printf("%n%-8s %14s %12s %16s %16s %10s%n", "modo", "startup (ms)", "login (ms)",
+                "1a lista (ms)", "2a lista (ms)", "RSS (MB)");
+        StringBuilder json = new StringBuilder("[");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-8s %14d %12.1f %16.1f %16.1f %10.1f%n", r.variant(), r.startupMillis(),
+                    r.loginMicros() / 1000.0, r.firstListMicros() / 1000.0, r.secondListMicros() / 1000.0, r.rssKb() / 1024.0);
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.ROOT,
+                    "{\"variant\":\"%s\",\"runs\":%d,\"startupMillis\":%d,\"loginMicros\":%d,\"firstListMicros\":%d,"
+                            + "\"secondListMicros\":%d,\"rssKb\":%d}",
+                    r.variant(), r.runs(), r.startupMillis(), r.loginMicros(), r.firstListMicros(), r.secondListMicros(), r.rssKb()));
+        }
+        json.append(']');
+        Path output = Path.of("target", "startup-result.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json.toString());
+        System.out.println("Resultado gravado em " + output.toAbsolutePath());
+    }
+
+    // Linha de comando do modo, sem os argumentos da aplicação; null se o artefato não existe
+    private static List<String> command(String variant, Map<String, String> options) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path jar = Path.of(options.getOrDefault("jar", "target/demo-0.0.1-SNAPSHOT.jar"));
+        if (!variant.equals("native") && !Files.exists(jar)) {
+            System.out.println("Modo " + variant + " ignorado: " + jar + " não existe (./mvnw -DskipTests package)");
+            return null;
+        }
+        return switch (variant) {
+            case "jvm" -> List.of(java, "-jar", jar.toString());
+            case "cds" -> {
+                Path extracted = trainCds(java, jar, options);
+                yield List.of(java, "-XX:SharedArchiveFile=" + CDS_DIRECTORY.resolve("application.jsa"),
+                        "-jar", extracted.toString());
+            }
+            case "aot" -> {
+                if (!aotProcessed(jar)) {
+                    System.out.println("Modo aot ignorado: " + jar + " não passou pelo Spring AOT (./mvnw -Pnative -DskipTests package)");
+                    yield null;
+                }
+                yield List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString());
+            }
+            case "native" -> {
+                Path binary = Path.of(options.getOrDefault("native", "target/demo"));
+                if (!Files.isExecutable(binary)) {
+                    System.out.println("Modo native ignorado: " + binary + " não existe (./mvnw -Pnative -DskipTests native:compile)");
+                    yield null;
+                }
+                yield List.of(binary.toString());
+            }
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + variant);
+        };
+    }
+
+    /**
+     * Extrai o JAR em target/cds e gera o arquivo CDS com uma execução de treino (perfil "training",
+     * encerrada no refresh do contexto), como no Dockerfile.cds.
+     * @return JAR extraído (o arquivo CDS fica em target/cds/application.jsa).
+     */
+    private static Path trainCds(String java, Path jar, Map<String, String> options) throws Exception {
+        Path directory = CDS_DIRECTORY;
+        Path extracted = directory.resolve("application").resolve(jar.getFileName());
+        Path archive = directory.resolve("application.jsa");
+        if (Files.exists(archive) && Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(jar)) > 0) {
+            return extracted;
+        }
+        System.out.println("Gerando o arquivo CDS em " + directory + "...");
+        Files.createDirectories(directory);
+        run(directory, List.of(java, "-Djarmode=tools", "-jar", jar.toAbsolutePath().toString(),
+                "extract", "--force", "--destination", "application"));
+        run(directory, List.of(java, "-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=training", "-jar", directory.relativize(extracted).toString(),
+                "--spring.datasource.url=" + jdbcUrl(options)));
+        return extracted;
+    }
+
+    private static void run(Path directory, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("training.log").toFile())
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Falha em " + String.join(" ", command) + " (ver " + directory.resolve("training.log") + ")");
+        }
+    }
+
+    private static boolean aotProcessed(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return "true".equals(file.getManifest().getMainAttributes().getValue("Spring-Boot-Native-Processed"));
+        }
+    }
+
+    private static Sample launch(String variant, List<String> command, Map<String, String> options) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> full = new ArrayList<>(command);
+        full.add("--server.port=" + port);
+        full.add("--spring.datasource.url=" + jdbcUrl(options));
+        full.add("--spring.datasource.username=" + options.getOrDefault("db-user", "user_nexdom"));
+        full.add("--spring.datasource.password=" + options.getOrDefault("db-password", "password_nexdom"));
+        Path log = Path.of("target", "startup-" + variant + ".log");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        String baseUrl = "http://localhost:" + port;
+        long t0 = System.nanoTime();
+        Process process = new ProcessBuilder(full).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            awaitHealthy(client, baseUrl, process, log);
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+
+            long t1 = System.nanoTime();
+            HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + options.getOrDefault("username", "admin")
+                            + "\",\"password\":\"" + options.getOrDefault("password", "admin123") + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            long loginMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t1);
+            Matcher token = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(login.body());
+            if (login.statusCode() != 200 || !token.find()) {
+                throw new IllegalStateException("Login falhou (" + login.statusCode() + "): " + login.body());
+            }
+            HttpRequest list = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks?limit=50"))
+                    .header("Authorization", "Bearer " + token.group(1))
+                    .GET().build();
+            long firstListMicros = timeMicros(client, list);
+            long secondListMicros = timeMicros(client, list);
+            System.out.printf(Locale.ROOT, "  startup %d ms, login %.1f ms, 1a lista %.1f ms, 2a lista %.1f ms%n", startupMillis,
+                    loginMicros / 1000.0, firstListMicros / 1000.0, secondListMicros / 1000.0);
+            return new Sample(startupMillis, loginMicros, firstListMicros, secondListMicros, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl, Process process, Path log) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("A aplicação encerrou na inicialização (ver " + log + ")");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Porta ainda não aberta
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("A aplicação não ficou saudável em " + STARTUP_TIMEOUT + " (ver " + log + ")");
+    }
+
+    private static long timeMicros(HttpClient client, HttpRequest request) throws Exception {
+        long t0 = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + request.uri() + " respondeu " + response.statusCode());
+        }
+        return elapsed;
+    }
+
+    // Memória residente do processo (VmRSS, em KB); 0 fora do Linux
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Indisponível
+        }
+        return 0;
+    }
+
+    private static String jdbcUrl(Map<String, String> options) {
+        return options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/task_db");
+    }
+
+    private static long median(List<Sample> samples, ToLongFunction<Sample> metric) {
+        long[] values = samples.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de listas de Task, configurada como no Spring Boot
+ * (JavaTimeModule e datas em ISO-8601), em JSON e em CBOR (application/cbor), com e sem gzip
+ * (server.compression). A saída é descartada para medir apenas o encode; o tamanho de cada
+ * formato é impresso no setup de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private List<Task> tasks;
+    // Descarta a saída; ao contrário de OutputStream.nullOutputStream(), continua aceitando escritas
+    // depois do close feito pelo ObjectMapper e pelo GZIPOutputStream
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cborMapper = new CBORMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        tasks = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Tarefa " + i);
+            task.setDescription("Descrição detalhada da tarefa número " + i);
+            task.setStatus(i % 3 == 0 ? TaskStatus.CONCLUIDA : TaskStatus.PENDENTE);
+            task.setCreatedAt(now.minusMinutes(i));
+            task.setDueDate(LocalDate.now().plusDays(i % 30));
+            tasks.add(task);
+        }
+        printSizes();
+    }
+
+    private void printSizes() {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tasks);
+            byte[] cbor = cborMapper.writeValueAsBytes(tasks);
+            System.out.printf(Locale.ROOT, "%n%d tarefas: json=%d bytes, json+gzip=%d, cbor=%d (%.0f%%), cbor+gzip=%d%n",
+                    rows, json.length, gzip(json), cbor.length, 100.0 * cbor.length / json.length, gzip(cbor));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        objectMapper.writeValue(sink, tasks);
+    }
+
+    @Benchmark
+    public void serializeListCbor() throws IOException {
+        cborMapper.writeValue(sink, tasks);
+    }
+
+    @Benchmark
+    public void serializeListGzip() throws IOException {
+        // Nível padrão do Deflater, como na compressão do Tomcat
+        try (OutputStream out = new GZIPOutputStream(sink, 8192)) {
+            objectMapper.writeValue(out, tasks);
+        }
+    }
+
+    @Benchmark
+    public void serializeListCborGzip() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(sink, 8192)) {
+            cborMapper.writeValue(out, tasks);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.service.TaskFilter;
+import com.example.demo.service.TaskPage;
+import com.example.demo.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ponta a ponta do TaskService com o contexto Spring completo
+ * sobre o banco embarcado (H2 em modo PostgreSQL, configurado em src/test/resources).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskServiceBenchmark {
+
+    @Param({"10000"})
+    public int seededRows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long ownerId;
+    private final TaskFilter noFilter = new TaskFilter(null, null, null);
+    private final TaskFilter pendingFilter = new TaskFilter(TaskStatus.PENDENTE, null, null);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        ownerId = context.getBean(AppUserRepository.class).findByUsername("admin").orElseThrow().getId();
+
+        TaskRepository repository = context.getBean(TaskRepository.class);
+        List<Task> batch = new ArrayList<>(seededRows);
+        for (int i = 0; i < seededRows; i++) {
+            Task task = newTask(i);
+            task.setOwnerId(ownerId);
+            batch.add(task);
+        }
+        repository.saveAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static Task newTask(int i) {
+        Task task = new Task();
+        task.setTitle("Tarefa " + i);
+        task.setDescription("Descrição " + i);
+        task.setStatus(i % 3 == 0 ? TaskStatus.CONCLUIDA : TaskStatus.PENDENTE);
+        task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+        return task;
+    }
+
+    @Benchmark
+    public TaskPage listFirstPage() {
+        return taskService.listTasks(ownerId, noFilter, "id", "asc", null, 50);
+    }
+
+    @Benchmark
+    public TaskPage listFilteredByStatus() {
+        return taskService.listTasks(ownerId, pendingFilter, "createdAt", "desc", null, 50);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.saveTask(ownerId, newTask(0));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportAll(Blackhole blackhole) {
+        taskService.exportTasks(ownerId, noFilter, blackhole::consume);
+    }
+}
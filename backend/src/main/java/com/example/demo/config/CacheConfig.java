@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita o cache de leitura das tarefas (abstração de cache do Spring).
+ * A implementação é escolhida por configuração, sem mudança de código:
+ * spring.cache.type=caffeine para cache em memória (um único nó) ou
+ * spring.cache.type=redis para um cache compartilhado entre as instâncias do cluster.
+ * Tamanho, TTL e estatísticas são definidos em application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Tarefas individuais, chaveadas por dono e id ("dono:id", ver TaskCacheEvictor.key)
+    public static final String TASKS = "tasks";
+
+    // Primeiras páginas das listagens mais comuns (por status), chaveadas pelo dono e parâmetros da consulta
+    public static final String TASK_LISTS = "taskLists";
+}
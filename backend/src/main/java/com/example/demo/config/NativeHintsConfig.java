@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskDueNotification;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.push.TaskDueBatch;
+import com.example.demo.push.TaskEventBatch;
+import com.example.demo.repository.TaskDueKey;
+import com.example.demo.repository.TaskStatsKey;
+import com.example.demo.service.TaskPage;
+import com.example.demo.writebehind.TaskMutation;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.ArrayList;
+
+/**
+ * Hints de reflexão, recursos e serialização para o processamento AOT e a imagem nativa (perfil Maven "native").
+ * <p>
+ * O Spring já registra o que consegue deduzir: entidades JPA, @ConfigurationProperties e os tipos de
+ * entrada e saída dos controllers. Ficam aqui os usos que ele não enxerga: JSON gravado pelo ObjectMapper
+ * fora dos controllers (journal do write-behind, mensagens SSE), construtores das consultas JPQL com
+ * "new", as classes que o jjwt carrega por nome e as migrações dos diretórios por banco.
+ * Os getters, setters e construtores gerados pelo Lombok entram pelo registro de binding, como os escritos à mão.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({Task.class, TaskMutation.class, TaskEventBatch.class, TaskDueBatch.class})
+public class NativeHintsConfig {
+
+    // Implementações do jjwt 0.11 instanciadas por Jwts/Keys via Class.forName
+    static final String[] JJWT_CLASSES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.impl.crypto.EllipticCurveProvider",
+            "io.jsonwebtoken.impl.crypto.RsaProvider",
+            // Carregadas via ServiceLoader (META-INF/services do jjwt-jackson e do jjwt-impl)
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec"
+    };
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Resultados de consultas JPQL "SELECT new ..." (o Hibernate chama o construtor por reflexão)
+            hints.reflection().registerType(TaskStatsKey.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(TaskDueKey.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // Chave composta (@IdClass): o Hibernate a instancia e preenche os campos por reflexão
+            hints.reflection().registerType(TaskDueNotification.Key.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+            // Conversão do nome recebido pela API (@JsonCreator TaskStatus.parse)
+            hints.reflection().registerType(TaskStatus.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Migrações Flyway: common + diretório do banco (spring.flyway.locations)
+            hints.resources().registerPattern("db/migration/*/*.sql");
+
+            // Cache Redis (serialização Java): tarefas e páginas das listagens
+            hints.serialization().registerType(Task.class);
+            hints.serialization().registerType(TaskPage.class);
+            hints.serialization().registerType(TaskStatus.class);
+            hints.serialization().registerType(ArrayList.class);
+            hints.serialization().registerType(TypeReference.of("java.time.Ser"));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.controller;
+
+import com.example.demo.push.SubscriberLimitException;
+import com.example.demo.service.InvalidStatusTransitionException;
+import com.example.demo.service.TaskNotFoundException;
+import com.example.demo.service.TaskVersionConflictException;
+import com.example.demo.service.UsernameTakenException;
+import com.example.demo.writebehind.WriteBehindOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Tradução centralizada de exceções da camada de serviço para respostas HTTP.
+ * Evita que erros de entrada do cliente cheguem como 500 (ou 403, via página de erro protegida).
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Parâmetros inválidos (cursor, ordenação, etc.) resultam em 400 Bad Request.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Corpo JSON malformado ou com valores inválidos (ex: status desconhecido) resulta em 400 Bad Request.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMostSpecificCause().getMessage()));
+    }
+
+    /**
+     * Tarefa inexistente resulta em 404 Not Found.
+     */
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(TaskNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Versão divergente do If-Match resulta em 412 Precondition Failed.
+     */
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(TaskVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Mudança de status fora do fluxo permitido resulta em 409 Conflict.
+     */
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTransition(InvalidStatusTransitionException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Nome de usuário já cadastrado resulta em 409 Conflict.
+     */
+    @ExceptionHandler(UsernameTakenException.class)
+    public ResponseEntity<Map<String, String>> handleUsernameTaken(UsernameTakenException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Credenciais inválidas (ou usuário do token que não existe mais) resultam em 401 Unauthorized.
+     * A mensagem é a mesma para usuário inexistente e senha errada.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Map<String, String>> handleAuthentication(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Usuário ou senha inválidos"));
+    }
+
+    /**
+     * Limite de conexões de eventos atingido resulta em 503, sem corpo (o cliente pediu text/event-stream).
+     */
+    @ExceptionHandler(SubscriberLimitException.class)
+    public ResponseEntity<Void> handleSubscriberLimit(SubscriberLimitException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+    }
+
+    /**
+     * Journal de write-behind acima do limite de escritas pendentes resulta em 503 com Retry-After.
+     */
+    @ExceptionHandler(WriteBehindOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleWriteBehindOverloaded(WriteBehindOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.AppUser;
+import com.example.demo.security.JwtKeyRing;
 import com.example.demo.security.JwtUtil;
+import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 
 /**
  * Controller responsável pela autenticação de usuários.
- * Gerencia o endpoint de login e a geração de tokens JWT.
+ * Gerencia o cadastro, o login e a geração de tokens JWT.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -17,26 +24,55 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserService userService;
+
     /**
      * Endpoint para autenticação de usuário.
-     * Recebe as credenciais, valida e retorna um token JWT em caso de sucesso.
+     * Recebe as credenciais, valida contra a tabela users e retorna um token JWT em caso de sucesso.
      * * @param user Mapa contendo 'username' e 'password'.
      * @return Mapa contendo o 'token' gerado.
      */
     @PostMapping("/login")
     public Map<String, String> login(@RequestBody Map<String, String> user) {
-        
-        // Simulação de autenticação baseada nas credenciais fornecidas: admin / admin123
-        if ("admin".equals(user.get("username")) && "admin123".equals(user.get("password"))) {
-            
-            // Gera o token JWT utilizando a utilidade de segurança
-            String token = jwtUtil.generateToken(user.get("username"));
-            
-            // Retorna o token em formato JSON { "token": "valor" }
-            return Map.of("token", token);
-        }
-        
-        // Lança exceção em caso de credenciais incorretas, capturada pelo Spring Security (403/401)
-        throw new RuntimeException("Usuário ou senha inválidos");
+
+        // Credenciais incorretas lançam AuthenticationException, convertida em 401 pelo ApiExceptionHandler
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(user.get("username"), user.get("password")));
+        UserService.UserAccount account = (UserService.UserAccount) authentication.getPrincipal();
+
+        // O token leva o id do usuário, usado como dono das tarefas
+        String token = jwtUtil.generateToken(account.getId(), account.getUsername());
+
+        // Retorna o token em formato JSON { "token": "valor" }
+        return Map.of("token", token);
+    }
+
+    /**
+     * Cadastro de um novo usuário.
+     * @param user Mapa contendo 'username' e 'password'.
+     * @return 201 Created com o id e o nome do usuário (a senha nunca é devolvida).
+     */
+    @PostMapping("/register")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Map<String, Object> register(@RequestBody Map<String, String> user) {
+        AppUser created = userService.register(user.get("username"), user.get("password"));
+        return Map.of("id", created.getId(), "username", created.getUsername());
+    }
+
+    /**
+     * Chaves públicas de validação dos tokens (JWK Set), para que outros serviços validem os
+     * tokens ES256 sem acesso às chaves privadas. Chaves HS256 não são publicadas.
+     * @return Mapa com a lista 'keys' (vazia quando só há chaves HS256).
+     */
+    @GetMapping("/jwks")
+    public Map<String, Object> jwks() {
+        return keyRing.publicJwks();
     }
-}
\ No newline at end of file
+}
@@ -1,59 +1,306 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.push.TaskEventBroadcaster;
+import com.example.demo.search.TaskSearchPage;
+import com.example.demo.service.BatchResult;
+import com.example.demo.service.TaskChangeTracker;
+import com.example.demo.service.TaskChanges;
+import com.example.demo.service.TaskFilter;
+import com.example.demo.service.TaskPage;
 import com.example.demo.service.TaskService;
+import com.example.demo.service.TaskStats;
+import com.example.demo.service.TaskVersionConflictException;
+import com.example.demo.service.UserService;
+import com.example.demo.writebehind.TaskWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Controller REST para gestão de tarefas.
  * Define os endpoints para operações de CRUD (Create, Read, Update, Delete).
+ * Respostas e corpos em JSON ou, com Accept/Content-Type application/cbor, em CBOR (ver WebConfig).
+ * Cada usuário vê e altera apenas as próprias tarefas: tarefas de outro usuário respondem 404.
  */
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    // Media type do modo de exportação: um objeto JSON por linha
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    // Header que carrega o cursor da próxima página
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskChangeTracker changeTracker;
+
+    @Autowired
+    private TaskEventBroadcaster eventBroadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Presente apenas com tasks.write-behind.enabled=true
+    @Autowired(required = false)
+    private TaskWriteBehind writeBehind;
+
+    // Respostas com ETag podem ser guardadas pelo navegador, mas sempre revalidadas
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Retorna uma página de tarefas, com filtros opcionais e paginação por cursor.
+     * O corpo continua sendo uma lista (JSON ou CBOR, conforme o Accept); o cursor da próxima página segue no
+     * header X-Next-Cursor (ausente na última página).
+     * Suporta GET condicional: a ETag deriva do contador de alterações da tabela, então um
+     * If-None-Match válido é respondido com 304 antes de qualquer consulta às tarefas.
+     * @param status Filtra pelo status da tarefa.
+     * @param dueFrom Prazo mínimo (YYYY-MM-DD).
+     * @param dueTo Prazo máximo (YYYY-MM-DD).
+     * @param sort Campo de ordenação: id (padrão) ou createdAt.
+     * @param direction asc (padrão) ou desc.
+     * @param cursor Cursor devolvido pela página anterior.
+     * @param limit Tamanho da página (padrão 50, máximo 500).
+     * @return List de objetos Task da página solicitada.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<Task>> getAll(@RequestParam(required = false) String status,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                             @RequestParam(defaultValue = "id") String sort,
+                                             @RequestParam(defaultValue = "asc") String direction,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int limit,
+                                             HttpServletRequest request,
+                                             WebRequest webRequest,
+                                             Authentication authentication) {
+        Long ownerId = userService.idOf(authentication);
+        // O contador é lido antes das tarefas: a ETag nunca é mais nova que os dados devolvidos
+        TaskChangeTracker.ChangeState state = changeTracker.current();
+        String etag = TaskETags.ofCollection(state, ownerId, request.getParameterMap());
+        if (webRequest.checkNotModified(etag, state.lastModifiedMillis())) {
+            return null;
+        }
+
+        TaskPage page = taskService.listTasks(ownerId, new TaskFilter(TaskStatus.parse(status), dueFrom, dueTo), sort, direction, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .lastModified(state.lastModifiedMillis())
+                .cacheControl(REVALIDATE);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Estatísticas para os dashboards: quantidade por status, tarefas atrasadas e vencendo na semana.
+     * Servidas por um resumo mantido a cada escrita, com tempo de resposta independente do volume de tarefas.
+     * @return TaskStats calculadas em relação à data atual.
+     */
+    @GetMapping("/stats")
+    public TaskStats stats(Authentication authentication) {
+        return taskService.getStats(userService.idOf(authentication));
+    }
+
+    /**
+     * Busca textual nas tarefas (título e descrição), ordenada por relevância.
+     * Os campos titleHighlight e descriptionHighlight trazem HTML seguro com os termos em &lt;mark&gt;.
+     * @param q Texto da busca.
+     * @param page Página (padrão 0).
+     * @param size Tamanho da página (padrão 20, máximo 100).
+     * @return TaskSearchPage com os resultados e a indicação de próxima página.
+     */
+    @GetMapping("/search")
+    public TaskSearchPage search(@RequestParam String q,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size,
+                                 Authentication authentication) {
+        return taskService.searchTasks(userService.idOf(authentication), q, page, size);
+    }
+
     /**
-     * Retorna a lista completa de tarefas cadastradas no sistema.
-     * @return List de objetos Task.
+     * Sincronização incremental: devolve apenas as tarefas criadas, alteradas ou removidas
+     * desde o cursor informado, para que o cliente atualize sua cópia local sem baixar tudo.
+     * Sem since, devolve o estado atual paginado. Enquanto hasMore for true, o cliente
+     * deve repetir a chamada com o nextCursor recebido.
+     * @param since Cursor (nextCursor) devolvido pela sincronização anterior.
+     * @param limit Quantidade máxima de alterações (padrão e máximo 500).
+     * @return TaskChanges com as alterações e o próximo cursor.
      */
-    @GetMapping
-    public List<Task> getAll() {
-        return taskService.getAllTasks();
+    @GetMapping("/changes")
+    public TaskChanges getChanges(@RequestParam(required = false) String since,
+                                  @RequestParam(defaultValue = "500") int limit,
+                                  Authentication authentication) {
+        return taskService.getChanges(userService.idOf(authentication), since, limit);
+    }
+
+    /**
+     * Canal de eventos (Server-Sent Events) com as tarefas criadas, alteradas e removidas,
+     * para atualizar dashboards sem polling. Cada mensagem "tasks" traz os ids alterados
+     * em uma janela curta; uma mensagem "resync" indica que eventos foram descartados e o
+     * cliente deve consultar /changes. Autenticado pelo mesmo header Authorization do restante da API.
+     * @return Conexão SSE mantida aberta até o timeout (o cliente reconecta).
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Authentication authentication) {
+        return eventBroadcaster.subscribe(userService.idOf(authentication));
+    }
+
+    /**
+     * Retorna uma única tarefa pelo id, com ETag forte baseada na versão.
+     * Um If-None-Match com a versão atual resulta em 304 Not Modified.
+     * @param id Identificador único da tarefa.
+     * @return O objeto Task correspondente (404 se não existir).
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Task> getById(@PathVariable Long id, Authentication authentication) {
+        Task task = taskService.getTask(userService.idOf(authentication), id);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TaskETags.of(task)).cacheControl(REVALIDATE).body(task);
+    }
+
+    /**
+     * Exporta todas as tarefas filtradas em NDJSON (Accept: application/x-ndjson).
+     * Cada linha é serializada e enviada assim que lida do banco, sem montar a lista em memória.
+     * @param status Filtra pelo status da tarefa.
+     * @param dueFrom Prazo mínimo (YYYY-MM-DD).
+     * @param dueTo Prazo máximo (YYYY-MM-DD).
+     * @param response Resposta HTTP onde as linhas são escritas.
+     */
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public void export(@RequestParam(required = false) String status,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                       HttpServletResponse response,
+                       Authentication authentication) throws IOException {
+        Long ownerId = userService.idOf(authentication);
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        taskService.exportTasks(ownerId, new TaskFilter(TaskStatus.parse(status), dueFrom, dueTo), task -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
     }
 
     /**
      * Cria uma nova tarefa.
+     * No modo write-behind responde 202 Accepted assim que a escrita está no journal;
+     * o corpo já traz o id definitivo, e a tarefa aparece nas consultas após ser aplicada.
      * @param task Objeto Task recebido no corpo da requisição (JSON).
      * @return O objeto Task persistido, incluindo id e metadados.
      */
     @PostMapping
-    public Task create(@RequestBody Task task) {
-        return taskService.saveTask(task);
+    public ResponseEntity<Task> create(@RequestBody Task task, Authentication authentication) {
+        Long ownerId = userService.idOf(authentication);
+        if (writeBehind != null) {
+            return ResponseEntity.accepted().body(writeBehind.create(ownerId, task));
+        }
+        return ResponseEntity.ok(taskService.saveTask(ownerId, task));
+    }
+
+    /**
+     * Cria várias tarefas em uma única requisição (importação).
+     * @param tasks Lista de tarefas a criar.
+     * @return Resultado por item, com o id gerado para cada tarefa criada.
+     */
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<Task> tasks, Authentication authentication) {
+        return taskService.createTasks(userService.idOf(authentication), tasks);
+    }
+
+    /**
+     * Atualiza parcialmente várias tarefas; somente os campos informados são alterados.
+     * @param tasks Lista de tarefas contendo o id e os campos a alterar.
+     * @return Resultado por item.
+     */
+    @PatchMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<Task> tasks, Authentication authentication) {
+        return taskService.updateTasks(userService.idOf(authentication), tasks);
+    }
+
+    /**
+     * Remove várias tarefas de uma vez.
+     * @param ids Lista de ids a remover.
+     * @return Resultado por item.
+     */
+    @DeleteMapping("/batch")
+    public BatchResult deleteBatch(@RequestBody List<Long> ids, Authentication authentication) {
+        return taskService.deleteTasks(userService.idOf(authentication), ids);
     }
 
     /**
      * Atualiza os dados de uma tarefa existente com base no ID.
+     * Com o header If-Match (ETag obtida no GET), aplica concorrência otimista:
+     * se a tarefa mudou desde a leitura, responde 412 Precondition Failed.
+     * No modo write-behind, a atualização sem If-Match responde 202 Accepted e é aplicada depois;
+     * com If-Match continua síncrona, pois a versão só pode ser conferida no banco.
      * @param id Identificador único da tarefa.
      * @param task Objeto Task com as novas informações.
-     * @return O objeto Task atualizado.
+     * @param ifMatch ETag esperada da tarefa (opcional).
+     * @return O objeto Task atualizado, com a nova ETag.
      */
     @PutMapping("/{id}")
-    public Task update(@PathVariable Long id, @RequestBody Task task) {
-        return taskService.updateTask(id, task);
+    public ResponseEntity<Task> update(@PathVariable Long id, @RequestBody Task task,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       Authentication authentication) {
+        Long ownerId = userService.idOf(authentication);
+        Long expectedVersion;
+        try {
+            expectedVersion = TaskETags.parseIfMatch(ifMatch);
+        } catch (NumberFormatException e) {
+            throw new TaskVersionConflictException(id);
+        }
+        if (writeBehind != null && expectedVersion == null) {
+            return ResponseEntity.accepted().body(writeBehind.update(ownerId, id, task));
+        }
+        Task updated = taskService.updateTask(ownerId, id, task, expectedVersion);
+        return ResponseEntity.ok().eTag(TaskETags.of(updated)).body(updated);
     }
 
     /**
-     * Remove uma tarefa do sistema permanentemente.
+     * Remove uma tarefa do sistema (mantida apenas como tombstone para a sincronização).
+     * No modo write-behind responde 202 Accepted e a remoção é aplicada depois.
      * @param id Identificador único da tarefa a ser excluída.
      */
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id) {
-        taskService.deleteTask(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, Authentication authentication) {
+        Long ownerId = userService.idOf(authentication);
+        if (writeBehind != null) {
+            writeBehind.delete(ownerId, id);
+            return ResponseEntity.accepted().build();
+        }
+        taskService.deleteTask(ownerId, id);
+        return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
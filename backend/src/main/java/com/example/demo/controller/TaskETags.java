@@ -0,0 +1,61 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Task;
+import com.example.demo.service.TaskChangeTracker;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Geração e interpretação das ETags usadas nos endpoints de tarefas.
+ * Tarefa: ETag forte com a versão da entidade ("3").
+ * Coleção: ETag fraca com o contador global de alterações + hash do usuário e dos parâmetros da
+ * requisição, pois usuários, filtros e páginas diferentes são representações diferentes (W/"c42-1a2b3c").
+ * É fraca porque a mesma listagem pode ser enviada em JSON ou CBOR, com ou sem gzip; o Tomcat também
+ * não comprime respostas com ETag forte. O If-None-Match usa comparação fraca e continua valendo.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    /**
+     * ETag de uma tarefa individual.
+     */
+    static String of(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    /**
+     * ETag de uma listagem, calculada sem consultar as tarefas.
+     * Os parâmetros são ordenados, de modo que a ordem na URL não altere a ETag.
+     * @param state Estado atual do contador de alterações.
+     * @param ownerId Dono das tarefas listadas.
+     * @param parameters Parâmetros da requisição.
+     */
+    static String ofCollection(TaskChangeTracker.ChangeState state, Long ownerId, Map<String, String[]> parameters) {
+        StringBuilder canonical = new StringBuilder().append(ownerId).append('|');
+        new TreeMap<>(parameters).forEach((name, values) ->
+                canonical.append(name).append('=').append(Arrays.toString(values)).append('&'));
+        return "W/\"c" + state.version() + "-" + Integer.toHexString(canonical.toString().hashCode()) + "\"";
+    }
+
+    /**
+     * Extrai a versão esperada de um header If-Match.
+     * @param ifMatch Valor do header (pode ser null).
+     * @return A versão, ou null quando o header está ausente ou é "*" (qualquer versão).
+     * @throws NumberFormatException se o valor não for uma ETag forte de tarefa.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            // ETags fracas (W/"...") nunca satisfazem If-Match, que exige comparação forte
+            throw new NumberFormatException("ETag inválida: " + value);
+        }
+        return Long.parseLong(value.substring(1, value.length() - 1));
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.demo.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -12,6 +16,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Representação binária CBOR (application/cbor), escolhida pelo cliente via Accept/Content-Type.
+     * Usa o mesmo ObjectMapper configurado pelo Spring Boot para o JSON (módulos e formato das datas),
+     * de modo que os dois formatos tragam os mesmos campos e valores. Substitui o conversor CBOR padrão
+     * na mesma posição, depois do JSON: clientes que aceitam qualquer tipo continuam recebendo JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Habilita o mapeamento para todos os endpoints da API
@@ -21,10 +36,13 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:5173", "http://localhost") 
                 
                 // Define os métodos HTTP permitidos para as requisições externas
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 
                 // Permite todos os headers (necessário para o envio do token Authorization)
                 .allowedHeaders("*")
+
+                // Expõe ao frontend o cursor da próxima página e a versão (ETag) das respostas
+                .exposedHeaders("X-Next-Cursor", "ETag")
                 
                 // Permite o envio de cookies e headers de autenticação entre domínios
                 .allowCredentials(true);
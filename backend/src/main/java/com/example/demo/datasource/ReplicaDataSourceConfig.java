@@ -0,0 +1,91 @@
+package com.example.demo.datasource;
+
+import com.example.demo.service.TaskCacheEvictor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Separação de leituras e escritas entre o primário e as réplicas (ativa com replica.urls).
+ * <p>
+ * O DataSource da aplicação é um LazyConnectionDataSourceProxy: a conexão real só é obtida no
+ * primeiro comando, quando o Spring já marcou a transação como somente leitura. Transações
+ * readOnly usam o ReplicaRoutingDataSource; as demais (escritas, Flyway, locks) usam o primário.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "replica", name = "urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReplicaProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = properties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(properties.getUsername() != null ? properties.getUsername() : primaryProperties.determineUsername());
+            replica.setPassword(properties.getPassword() != null ? properties.getPassword() : primaryProperties.determinePassword());
+            replica.setMaximumPoolSize(properties.getPoolSize());
+            replica.setConnectionTimeout(primary.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // Uma réplica fora do ar não impede a inicialização: fica fora do rodízio até responder
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                               ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               ReplicaProperties properties, TaskCacheEvictor cacheEvictor,
+                                               @Qualifier(ScheduledAnnotationBeanPostProcessor.DEFAULT_TASK_SCHEDULER_BEAN_NAME) TaskScheduler scheduler,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replicaRoutingDataSource, properties, cacheEvictor, scheduler, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingFilter replicaRoutingFilter(ReplicaProperties properties) {
+        return new ReplicaRoutingFilter(properties.stalenessBound());
+    }
+}
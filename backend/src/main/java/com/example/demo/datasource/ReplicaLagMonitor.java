@@ -0,0 +1,149 @@
+package com.example.demo.datasource;
+
+import com.example.demo.service.TaskCacheEvictor;
+import com.example.demo.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede o atraso de replicação de cada réplica e decide quais recebem leituras.
+ * <p>
+ * A cada replica.lag-check-interval, lê a posição atual do WAL no primário e a posição já
+ * reaplicada em cada réplica: se a réplica alcançou essa posição, o atraso é zero (mesmo com o
+ * primário ocioso); senão, é o tempo desde a última transação reaplicada. Réplicas inacessíveis
+ * ou com atraso acima de replica.max-lag saem do rodízio até se recuperarem.
+ * <p>
+ * Também invalida o cache de tarefas uma segunda vez, após o atraso máximo de uma réplica:
+ * uma leitura em réplica logo após a escrita pode ter guardado no cache o valor anterior.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String PRIMARY_LSN = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLICA_STATE = "SELECT pg_is_in_recovery(), pg_last_wal_replay_lsn()::text, "
+            + "EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp()))";
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final ReplicaRoutingDataSource routing;
+    private final ReplicaProperties properties;
+    private final TaskCacheEvictor cacheEvictor;
+    private final TaskScheduler scheduler;
+    // Último atraso medido, em segundos (infinito se a réplica não respondeu)
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource routing, ReplicaProperties properties,
+                             TaskCacheEvictor cacheEvictor, TaskScheduler scheduler, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.routing = routing;
+        this.properties = properties;
+        this.cacheEvictor = cacheEvictor;
+        this.scheduler = scheduler;
+        for (String name : routing.replicas().keySet()) {
+            lags.put(name, Double.POSITIVE_INFINITY);
+            Gauge.builder("db.replica.lag", lags, map -> map.getOrDefault(name, Double.POSITIVE_INFINITY))
+                    .description("Atraso de replicação medido (infinito se a réplica não responde)")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", routing, r -> r.available().contains(name) ? 1 : 0)
+                    .description("1 se a réplica está recebendo leituras")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Mede o atraso das réplicas e atualiza o rodízio de leituras.
+     */
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval:1s}")
+    public void check() {
+        Long primaryLsn = primaryLsn();
+        double maxLag = properties.getMaxLag().toMillis() / 1000.0;
+        List<String> available = new ArrayList<>();
+        routing.replicas().forEach((name, dataSource) -> {
+            double lag = measure(name, dataSource, primaryLsn);
+            boolean wasAvailable = routing.available().contains(name);
+            lags.put(name, lag);
+            if (lag <= maxLag) {
+                available.add(name);
+                if (!wasAvailable) {
+                    log.info("Réplica {} recebendo leituras (atraso {}s)", name, lag);
+                }
+            } else if (wasAvailable) {
+                log.warn("Réplica {} fora do rodízio de leituras (atraso {}s)", name, lag);
+            }
+        });
+        routing.setAvailable(available);
+    }
+
+    /**
+     * Repete a invalidação do cache quando as réplicas certamente já receberam a escrita.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        scheduler.schedule(() -> cacheEvictor.evict(event.ownerId(), event.ids()), Instant.now().plus(properties.stalenessBound()));
+    }
+
+    private Long primaryLsn() {
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(PRIMARY_LSN)) {
+                return rs.next() ? parseLsn(rs.getString(1)) : null;
+            }
+        } catch (SQLException e) {
+            log.debug("Posição do WAL do primário indisponível", e);
+            return null;
+        }
+    }
+
+    private double measure(String name, DataSource dataSource, Long primaryLsn) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(REPLICA_STATE)) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    // Instância fora de recuperação (não é standby): não há o que esperar
+                    return 0;
+                }
+                Long replayed = parseLsn(rs.getString(2));
+                if (primaryLsn != null && replayed != null && replayed >= primaryLsn) {
+                    return 0;
+                }
+                double sinceLastReplay = rs.getDouble(3);
+                return rs.wasNull() ? Double.POSITIVE_INFINITY : Math.max(0, sinceLastReplay);
+            }
+        } catch (SQLException e) {
+            log.debug("Réplica {} inacessível", name, e);
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Converte uma posição do WAL no formato do PostgreSQL ("16/B374D848") em número.
+     */
+    static Long parseLsn(String lsn) {
+        if (lsn == null) {
+            return null;
+        }
+        int slash = lsn.indexOf('/');
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+}
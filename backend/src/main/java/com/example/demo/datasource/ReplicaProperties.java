@@ -0,0 +1,42 @@
+package com.example.demo.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura do PostgreSQL (prefixo "replica").
+ * Sem URLs, todo o tráfego vai para spring.datasource.url.
+ */
+@Data
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+    // URLs JDBC das réplicas (streaming replication do primário)
+    private List<String> urls = new ArrayList<>();
+
+    // Credenciais das réplicas; vazias usam as do primário
+    private String username;
+    private String password;
+
+    // Conexões por réplica
+    private int poolSize = 10;
+
+    // Atraso máximo de replicação para uma réplica receber leituras
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Intervalo da medição do atraso de cada réplica
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maior defasagem possível de uma leitura em réplica: o limite de atraso mais
+     * o intervalo entre medições. Depois de uma escrita, o mesmo usuário lê do primário
+     * por esse tempo, e o cache é invalidado de novo ao fim dele.
+     */
+    public Duration stalenessBound() {
+        return maxLag.plus(lagCheckInterval);
+    }
+}
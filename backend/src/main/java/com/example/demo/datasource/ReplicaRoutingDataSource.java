@@ -0,0 +1,125 @@
+package com.example.demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Origem das conexões das transações somente leitura (@Transactional(readOnly = true)).
+ * <p>
+ * Distribui as transações entre as réplicas disponíveis (round-robin); a lista é mantida pelo
+ * ReplicaLagMonitor e exclui réplicas fora do ar ou atrasadas. Sem réplica disponível, usa o primário.
+ * Dentro de uma requisição HTTP (ReplicaRoutingFilter), todas as leituras usam a mesma réplica,
+ * para que a ETag e os dados venham do mesmo ponto da replicação; e requisições de quem escreveu
+ * há pouco leem do primário (read-your-writes).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    /**
+     * Roteamento da requisição corrente.
+     */
+    private static final class RequestRouting {
+        private final boolean primaryOnly;
+        private String pinned;
+
+        private RequestRouting(boolean primaryOnly) {
+            this.primaryOnly = primaryOnly;
+        }
+    }
+
+    private static final ThreadLocal<RequestRouting> REQUEST = new ThreadLocal<>();
+
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> available = List.of();
+
+    /**
+     * @param primary Pool do primário (fallback).
+     * @param replicas Pools das réplicas, pelo nome.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Marca o início de uma requisição na thread corrente.
+     * @param primaryOnly true para ler apenas do primário (escritas e read-your-writes).
+     */
+    public static void beginRequest(boolean primaryOnly) {
+        REQUEST.set(new RequestRouting(primaryOnly));
+    }
+
+    /**
+     * Encerra o roteamento da requisição na thread corrente.
+     */
+    public static void endRequest() {
+        REQUEST.remove();
+    }
+
+    /**
+     * Réplicas configuradas, pelo nome.
+     */
+    Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Atualiza as réplicas aptas a receber leituras.
+     */
+    void setAvailable(List<String> names) {
+        this.available = List.copyOf(names);
+    }
+
+    List<String> available() {
+        return available;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestRouting request = REQUEST.get();
+        if (request == null) {
+            return choose();
+        }
+        if (request.primaryOnly) {
+            return PRIMARY;
+        }
+        if (request.pinned == null) {
+            request.pinned = choose();
+        }
+        return request.pinned;
+    }
+
+    private String choose() {
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Fecha os pools das réplicas (o do primário é um bean próprio).
+     */
+    @Override
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
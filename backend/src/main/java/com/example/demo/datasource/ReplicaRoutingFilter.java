@@ -0,0 +1,55 @@
+package com.example.demo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Define o roteamento de leituras de cada requisição (roda depois da autenticação JWT).
+ * <p>
+ * Requisições de escrita e as requisições de um usuário que escreveu nos últimos
+ * replica.max-lag + replica.lag-check-interval leem apenas do primário, garantindo que ele
+ * veja as próprias alterações (read-your-writes). As demais leem de uma única réplica.
+ * O registro das escritas recentes é local da instância.
+ */
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // Usuários com escrita recente (a entrada expira ao fim da janela)
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        ReplicaRoutingDataSource.beginRequest(write || (user != null && recentWriters.getIfPresent(user) != null));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.endRequest();
+            if (write && user != null) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.due;
+
+import com.example.demo.repository.TaskDueNotificationRepository;
+import com.example.demo.repository.TaskDueScanRepository;
+import com.example.demo.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Beans da varredura de prazos, criados a menos que tasks.due.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskDueProperties.class)
+@ConditionalOnProperty(prefix = "tasks.due", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskDueConfig {
+
+    @Bean
+    public TaskDueScheduler taskDueScheduler(TaskRepository taskRepository, TaskDueScanRepository scanRepository,
+                                             TaskDueNotificationRepository notificationRepository,
+                                             ApplicationEventPublisher eventPublisher,
+                                             TransactionTemplate transactionTemplate,
+                                             TaskDueProperties properties, MeterRegistry meterRegistry) {
+        return new TaskDueScheduler(taskRepository, scanRepository, notificationRepository, eventPublisher,
+                transactionTemplate, properties, meterRegistry, instanceId());
+    }
+
+    // Identifica a instância no lease: nome do host (para diagnóstico) e um sufixo único por processo
+    private static String instanceId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return (host.length() > 80 ? host.substring(0, 80) : host) + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return suffix;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.due;
+
+import java.util.List;
+
+/**
+ * Evento publicado pelo TaskDueScheduler para um lote de tarefas cujo prazo se aproxima ou venceu.
+ * Cada tarefa gera no máximo um evento de cada tipo; quando publicado dentro da transação do lote,
+ * os ouvintes transacionais só o recebem após o commit, junto com o avanço da posição.
+ * @param kind Tipo do aviso.
+ * @param ownerId Dono das tarefas (um evento nunca mistura usuários).
+ * @param ids Ids das tarefas, em ordem de prazo.
+ */
+public record TaskDueEvent(Kind kind, Long ownerId, List<Long> ids) {
+
+    public enum Kind {
+        // Prazo entre hoje e hoje + tasks.due.reminder-lead
+        REMINDER,
+        // Prazo anterior a hoje, e a tarefa não foi concluída
+        OVERDUE
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.due;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+
+/**
+ * Configurações da varredura de prazos (prefixo "tasks.due").
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.due")
+public class TaskDueProperties {
+
+    // Liga o agendador; com false nenhum aviso de prazo é emitido
+    private boolean enabled = true;
+
+    // Intervalo entre execuções (e atraso máximo de um aviso, com a varredura em dia)
+    private Duration interval = Duration.ofMinutes(1);
+
+    // Antecedência dos lembretes: tarefas com prazo até hoje + reminder-lead
+    private Period reminderLead = Period.ofDays(1);
+
+    // Tarefas por lote: cada lote é uma transação curta que também avança a posição
+    private int batchSize = 500;
+
+    // Validade do lease; se a instância que o detém cair, outra assume depois desse tempo
+    private Duration leaseDuration = Duration.ofMinutes(2);
+}
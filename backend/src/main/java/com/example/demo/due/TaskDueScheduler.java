@@ -0,0 +1,218 @@
+package com.example.demo.due;
+
+import com.example.demo.model.TaskDueScan;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.TaskDueKey;
+import com.example.demo.repository.TaskDueNotificationRepository;
+import com.example.demo.repository.TaskDueScanRepository;
+import com.example.demo.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emite os avisos de prazo das tarefas: lembretes (prazo entre hoje e hoje + tasks.due.reminder-lead)
+ * e atrasos (prazo anterior a hoje), como TaskDueEvent por dono.
+ * <p>
+ * Cada tipo de aviso é uma varredura do índice (due_date, id) com marca d'água: a posição da última
+ * tarefa processada fica em task_due_scans, e cada execução continua dali até o horizonte do dia,
+ * em lotes de tasks.due.batch-size. Na primeira execução, os lembretes começam pelas tarefas que
+ * vencem hoje e os atrasos pelas que venceram ontem, sem avisar o histórico.
+ * <p>
+ * Os ids não ficam visíveis na ordem em que são gerados: a sequence entrega blocos de ids por
+ * instância, o write-behind reserva o id antes de gravar e transações concorrentes confirmam fora
+ * de ordem. Uma tarefa pode então aparecer atrás da posição depois que ela já passou. Por isso cada
+ * execução começa relendo a janela atrás da posição (de hoje, ou de ontem para os atrasos, até a
+ * posição) e avisa apenas as tarefas ausentes de task_due_notifications, onde ficam os avisos já
+ * emitidos na janela. A releitura também avisa tarefas criadas ou alteradas com um prazo já varrido
+ * dentro da janela; uma tarefa cujo prazo muda para outra data da janela é avisada de novo.
+ * Ela custa uma passada pelas tarefas da janela no índice a cada execução.
+ * <p>
+ * Lacunas que permanecem:
+ * <ul>
+ *   <li>tarefas criadas ou alteradas com um prazo anterior à janela (antes de ontem, para os atrasos)
+ *   não são avisadas, pois nenhuma varredura volta a esse prazo;</li>
+ *   <li>uma tarefa confirmada fora de ordem que só fica visível depois da virada do dia em que seu
+ *   prazo deixou a janela também não é avisada;</li>
+ *   <li>uma tarefa concluída e reaberta com o mesmo prazo não é avisada de novo.</li>
+ * </ul>
+ * <p>
+ * Cada lote é uma transação que renova o lease da varredura, lê o lote, registra e publica os avisos
+ * e avança a posição: com várias instâncias, apenas a detentora do lease processa, e uma queda no
+ * meio do lote não perde nem repete avisos.
+ */
+public class TaskDueScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDueScheduler.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskDueScanRepository scanRepository;
+    private final TaskDueNotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskDueProperties properties;
+    private final String instanceId;
+    private final Map<TaskDueEvent.Kind, DistributionSummary> batchSizes = new EnumMap<>(TaskDueEvent.Kind.class);
+    private final Map<TaskDueEvent.Kind, Counter> notified = new EnumMap<>(TaskDueEvent.Kind.class);
+    // Última vez em que cada varredura alcançou o horizonte, lida do banco (vale para todas as instâncias)
+    private final Map<TaskDueEvent.Kind, LocalDateTime> caughtUp = new EnumMap<>(TaskDueEvent.Kind.class);
+
+    /**
+     * Resultado de um lote.
+     * @param missed Tarefas avisadas pela releitura da janela atrás da posição.
+     * @param notified Total de tarefas avisadas no lote.
+     */
+    private record Batch(int missed, int notified) {
+    }
+
+    public TaskDueScheduler(TaskRepository taskRepository, TaskDueScanRepository scanRepository,
+                            TaskDueNotificationRepository notificationRepository,
+                            ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                            TaskDueProperties properties, MeterRegistry meterRegistry, String instanceId) {
+        this.taskRepository = taskRepository;
+        this.scanRepository = scanRepository;
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.instanceId = instanceId;
+        for (TaskDueEvent.Kind kind : TaskDueEvent.Kind.values()) {
+            batchSizes.put(kind, DistributionSummary.builder("tasks.due.batch.size")
+                    .description("Tarefas por lote da varredura de prazos")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+            notified.put(kind, Counter.builder("tasks.due.notified")
+                    .description("Tarefas avisadas pela varredura de prazos")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+            Gauge.builder("tasks.due.lag", this, scheduler -> scheduler.lagSeconds(kind))
+                    .description("Tempo desde que a varredura de prazos alcançou o horizonte pela última vez")
+                    .baseUnit("seconds")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Processa as duas varreduras até o horizonte do dia (ou até metade da validade do lease).
+     */
+    @Scheduled(initialDelayString = "${tasks.due.initial-delay:0}", fixedDelayString = "${tasks.due.interval:1m}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        for (TaskDueEvent.Kind kind : TaskDueEvent.Kind.values()) {
+            try {
+                process(kind, today);
+            } catch (RuntimeException e) {
+                log.warn("Varredura de prazos {} interrompida; continua na próxima execução", kind, e);
+            }
+        }
+    }
+
+    /**
+     * Processa uma varredura em lotes, enquanto a instância detiver o lease.
+     * @return Quantidade de tarefas avisadas.
+     */
+    int process(TaskDueEvent.Kind kind, LocalDate today) {
+        scanRepository.findById(kind.name()).ifPresent(scan -> refreshCaughtUp(kind, scan.getCaughtUpAt()));
+        long deadline = System.nanoTime() + properties.getLeaseDuration().toNanos() / 2;
+        int total = 0;
+        boolean rescan = true;
+        while (true) {
+            boolean pendingRescan = rescan;
+            Batch batch = transactionTemplate.execute(status -> processBatch(kind, today, pendingRescan));
+            if (batch == null) {
+                // Lease de outra instância
+                return total;
+            }
+            total += batch.notified();
+            // A releitura continua no próximo lote apenas se preencheu este
+            rescan = batch.missed() == properties.getBatchSize();
+            if (batch.notified() < properties.getBatchSize() || System.nanoTime() > deadline) {
+                return total;
+            }
+        }
+    }
+
+    // Um lote: renova o lease, relê a janela atrás da posição (se pedido), lê as tarefas após a posição,
+    // registra e publica os avisos e avança a posição
+    private Batch processBatch(TaskDueEvent.Kind kind, LocalDate today, boolean rescan) {
+        LocalDateTime now = LocalDateTime.now();
+        if (scanRepository.acquire(kind.name(), instanceId, now, now.plus(properties.getLeaseDuration())) == 0) {
+            return null;
+        }
+        TaskDueScan scan = scanRepository.findById(kind.name()).orElseThrow();
+        // Início da varredura: sem posição, ou lembretes atrasados (prazo já vencido vira aviso de atraso)
+        LocalDate floor = kind == TaskDueEvent.Kind.REMINDER ? today : today.minusDays(1);
+        LocalDate afterDueDate = scan.getCursorDueDate();
+        long afterId = scan.getCursorId() != null ? scan.getCursorId() : Long.MAX_VALUE;
+        if (afterDueDate == null || (kind == TaskDueEvent.Kind.REMINDER && afterDueDate.isBefore(floor.minusDays(1)))) {
+            afterDueDate = floor.minusDays(1);
+            afterId = Long.MAX_VALUE;
+        }
+        LocalDate horizon = kind == TaskDueEvent.Kind.REMINDER ? today.plus(properties.getReminderLead()) : today.minusDays(1);
+
+        List<TaskDueKey> batch = new ArrayList<>();
+        if (rescan) {
+            notificationRepository.deleteBefore(kind.name(), floor);
+            batch.addAll(taskRepository.findDueNotNotified(kind.name(), TaskStatus.CONCLUIDA, floor,
+                    afterDueDate, afterId, Limit.of(properties.getBatchSize())));
+        }
+        int missed = batch.size();
+        if (missed < properties.getBatchSize()) {
+            List<TaskDueKey> ahead = taskRepository.findDueAfter(TaskStatus.CONCLUIDA, horizon, afterDueDate, afterId,
+                    Limit.of(properties.getBatchSize() - missed));
+            if (!ahead.isEmpty()) {
+                TaskDueKey last = ahead.get(ahead.size() - 1);
+                afterDueDate = last.dueDate();
+                afterId = last.id();
+                batch.addAll(ahead);
+            }
+        }
+        batchSizes.get(kind).record(batch.size());
+        LocalDateTime caughtUpAt = batch.size() < properties.getBatchSize() ? now : null;
+        if (!batch.isEmpty()) {
+            batch.forEach(task -> notificationRepository.insert(kind.name(), task.id(), task.dueDate()));
+            publish(kind, batch);
+            notified.get(kind).increment(batch.size());
+        }
+        scanRepository.advance(kind.name(), instanceId, afterDueDate, afterId, caughtUpAt, now);
+        if (caughtUpAt != null) {
+            refreshCaughtUp(kind, caughtUpAt);
+        }
+        return new Batch(missed, batch.size());
+    }
+
+    // Um evento por dono, como nas escritas
+    private void publish(TaskDueEvent.Kind kind, List<TaskDueKey> batch) {
+        Map<Long, List<Long>> byOwner = new LinkedHashMap<>();
+        batch.forEach(task -> byOwner.computeIfAbsent(task.ownerId(), owner -> new ArrayList<>()).add(task.id()));
+        byOwner.forEach((ownerId, ids) -> eventPublisher.publishEvent(new TaskDueEvent(kind, ownerId, ids)));
+    }
+
+    private synchronized void refreshCaughtUp(TaskDueEvent.Kind kind, LocalDateTime at) {
+        if (at != null) {
+            caughtUp.put(kind, at);
+        }
+    }
+
+    private synchronized double lagSeconds(TaskDueEvent.Kind kind) {
+        LocalDateTime at = caughtUp.get(kind);
+        return at == null ? Double.NaN : Math.max(0, Duration.between(at, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Usuário da aplicação (tabela 'users'). Cada tarefa pertence a um usuário (Task.ownerId)
+ * e só é visível para ele.
+ */
+@Entity
+@Table(name = "users")
+@Data
+public class AppUser {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Nome de login, único
+    @Column(nullable = false, unique = true, length = 50)
+    private String username;
+
+    // Hash da senha no formato do DelegatingPasswordEncoder ("{bcrypt}$2a$10$..."), nunca o texto puro
+    @Column(nullable = false)
+    private String password;
+}
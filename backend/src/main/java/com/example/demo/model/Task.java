@@ -1,23 +1,53 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 /**
  * Entidade que representa a tabela 'tasks' no banco de dados.
  * Utiliza JPA para o mapeamento objeto-relacional (ORM).
+ * Tarefas removidas permanecem como tombstones (deleted = true) para a sincronização
+ * incremental; o @SQLRestriction as esconde de todas as consultas JPA.
+ * Cada tarefa pertence a um usuário (ownerId), e as consultas do TaskService filtram por ele.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // As consultas da API filtram pelo dono, a primeira coluna dos seus índices.
+        // Suporte à paginação por cursor (keyset) ordenada por data de criação
+        @Index(name = "idx_tasks_owner_created_at_id", columnList = "owner_id, created_at, id"),
+        // Filtros mais comuns da listagem: status com intervalo de prazo, e apenas prazo
+        @Index(name = "idx_tasks_owner_status_due_date", columnList = "owner_id, status, due_date"),
+        @Index(name = "idx_tasks_owner_due_date", columnList = "owner_id, due_date"),
+        // Sincronização incremental: varredura por (change_seq, id) a partir do cursor do cliente
+        @Index(name = "idx_tasks_owner_change_seq_id", columnList = "owner_id, change_seq, id"),
+        // Varredura de prazos de todos os usuários (TaskDueScheduler), a partir da posição já processada
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id")
+})
+@SQLRestriction("deleted = false")
 @Data // Anotação do Lombok que gera automaticamente Getters, Setters, toString, Equals e HashCode
-public class Task {
+public class Task implements Serializable {
     
+    // Ids vindos de sequence com alocação em blocos de 50 (otimizador pooled): o Hibernate
+    // conhece o id antes do INSERT, o que permite agrupar os inserts em lotes JDBC.
+    // Usa a mesma sequence que já alimentava a coluna (tasks_id_seq), mantendo os ids contínuos.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_gen")
+    @SequenceGenerator(name = "tasks_id_gen", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
+    // Usuário dono da tarefa (AppUser); definido na criação a partir do usuário autenticado,
+    // nunca aceito nem exposto pela API
+    @JsonIgnore
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
     // Título da tarefa - campo obrigatório
     @Column(nullable = false)
     private String title;
@@ -34,9 +64,33 @@ public class Task {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
-    // Status atual da tarefa (ex: PENDENTE, EM_ANDAMENTO, CONCLUIDA)
+    // Status atual da tarefa (PENDENTE, EM_ANDAMENTO, CONCLUIDA), gravado como smallint
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    // Versão para controle de concorrência otimista; também é a ETag da tarefa.
+    // O default 0 preenche as linhas já existentes quando a coluna é criada.
+    @Version
+    @ColumnDefault("0")
     @Column(nullable = false)
-    private String status;
+    private Long version;
+
+    // Data da última alteração
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Posição da última alteração na sequência global de mudanças (ver TaskChangeTracker).
+    // Linhas anteriores à coluna ficam com 0 e só aparecem na sincronização inicial.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    // Marca de exclusão lógica (tombstone); nunca exposta nem aceita pela API
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean deleted;
 
     /**
      * Método executado automaticamente pelo JPA antes da persistência inicial.
@@ -45,8 +99,17 @@ public class Task {
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
         if (this.status == null) {
-            this.status = "PENDENTE";
+            this.status = TaskStatus.PENDENTE;
         }
     }
+
+    /**
+     * Executado pelo JPA antes de cada UPDATE: registra a data da alteração.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Contador global de alterações da tabela 'tasks' (linha única, id = 1).
+ * É incrementado na transação de cada escrita, permitindo saber se a coleção mudou
+ * com uma leitura por chave primária, sem consultar nem serializar as tarefas.
+ * O valor também numera as alterações gravadas em tasks.change_seq.
+ */
+@Entity
+@Table(name = "task_change_counter")
+@Data
+public class TaskChangeCounter {
+
+    // Id fixo da única linha do contador
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    // Número de alterações já realizadas na tabela de tarefas
+    @Column(nullable = false)
+    private Long version;
+
+    // Momento da última alteração (usado no header Last-Modified)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Aviso de prazo já emitido para uma tarefa (ver TaskDueScheduler). Só guarda os avisos dentro da
+ * janela de cada varredura, para que a releitura da janela não avise a mesma tarefa duas vezes.
+ * O prazo faz parte da chave: uma tarefa cujo prazo muda para outra data da janela é avisada de novo.
+ */
+@Entity
+@Table(name = "task_due_notifications")
+@IdClass(TaskDueNotification.Key.class)
+@Data
+public class TaskDueNotification {
+
+    /**
+     * Chave composta (tipo de aviso, tarefa, prazo).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String kind;
+        private Long taskId;
+        private LocalDate dueDate;
+    }
+
+    // Tipo de aviso (REMINDER ou OVERDUE)
+    @Id
+    @Column(length = 20)
+    private String kind;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    // Prazo da tarefa no momento do aviso
+    @Id
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+}
@@ -0,0 +1,45 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de uma varredura de prazos (uma linha por tipo de aviso, ver TaskDueScheduler).
+ * A posição (prazo, id) é a marca d'água: tudo o que estava visível até ela já foi avisado, e a
+ * próxima execução continua dali pelo índice de due_date (o que aparece depois atrás da posição é
+ * recuperado pela releitura da janela, ver TaskDueNotification). O lease (holder, lease_until) garante que apenas
+ * uma instância processa a varredura por vez.
+ */
+@Entity
+@Table(name = "task_due_scans")
+@Data
+public class TaskDueScan {
+
+    // Tipo de aviso (REMINDER ou OVERDUE)
+    @Id
+    @Column(length = 20)
+    private String kind;
+
+    // Prazo e id da última tarefa processada (vazios antes da primeira execução)
+    @Column(name = "cursor_due_date")
+    private LocalDate cursorDueDate;
+
+    @Column(name = "cursor_id")
+    private Long cursorId;
+
+    // Instância que detém o lease, e até quando
+    @Column(length = 100)
+    private String holder;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    // Última vez em que a varredura alcançou o horizonte (sem tarefas pendentes)
+    @Column(name = "caught_up_at")
+    private LocalDateTime caughtUpAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
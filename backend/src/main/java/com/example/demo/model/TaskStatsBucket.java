@@ -0,0 +1,44 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * Resumo da tabela 'tasks': quantidade de tarefas por dono, status e prazo.
+ * É mantido pelas próprias escritas (ver TaskStatsTracker), então as estatísticas de um usuário
+ * somam no máximo uma linha por (status, dia de prazo), e não uma por tarefa.
+ */
+@Entity
+@Table(name = "task_stats", indexes = {
+        // Somas do dono por intervalo de prazo (atrasadas, vencendo na semana)
+        @Index(name = "idx_task_stats_owner_due_date", columnList = "owner_id, due_date")
+})
+@Data
+public class TaskStatsBucket {
+
+    // Chave do grupo no formato "dono|status|prazo" (prazo vazio para tarefas sem data)
+    @Id
+    @Column(length = 100)
+    private String bucket;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    // Quantidade de tarefas ativas no grupo
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    /**
+     * Monta a chave do grupo; due_date pode ser nulo, por isso não compõe a chave primária diretamente.
+     */
+    public static String key(Long ownerId, TaskStatus status, LocalDate dueDate) {
+        return ownerId + "|" + status + "|" + (dueDate != null ? dueDate : "");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Status de uma tarefa, com as transições permitidas:
+ * PENDENTE → EM_ANDAMENTO → CONCLUIDA. Uma tarefa pendente também pode ser concluída
+ * diretamente, e tarefas em andamento ou concluídas podem ser reabertas (voltam a PENDENTE).
+ * <p>
+ * No banco é gravado o código numérico (smallint, ver TaskStatusConverter): os códigos são
+ * fixos e não dependem da ordem das constantes.
+ */
+public enum TaskStatus {
+
+    PENDENTE((short) 0),
+    EM_ANDAMENTO((short) 1),
+    CONCLUIDA((short) 2);
+
+    private final short code;
+
+    TaskStatus(short code) {
+        this.code = code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Indica se a tarefa pode passar deste status para o informado (manter o status é sempre permitido).
+     */
+    public boolean canTransitionTo(TaskStatus next) {
+        return next == this || allowedNext().contains(next);
+    }
+
+    private Set<TaskStatus> allowedNext() {
+        return switch (this) {
+            case PENDENTE -> Set.of(EM_ANDAMENTO, CONCLUIDA);
+            case EM_ANDAMENTO -> Set.of(CONCLUIDA, PENDENTE);
+            case CONCLUIDA -> Set.of(PENDENTE);
+        };
+    }
+
+    /**
+     * Converte o código gravado no banco.
+     * @throws IllegalArgumentException se o código não corresponder a nenhum status.
+     */
+    public static TaskStatus fromCode(short code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Código de status desconhecido: " + code);
+    }
+
+    /**
+     * Converte o nome recebido pela API (parâmetros e corpo JSON); null resulta em null.
+     * @throws IllegalArgumentException se o nome não corresponder a nenhum status.
+     */
+    @JsonCreator
+    public static TaskStatus parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(status -> status.name().equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Status inválido: " + name
+                        + " (valores aceitos: " + Arrays.toString(values()) + ")"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Posição do journal de write-behind já aplicada ao banco (uma linha por journal).
+ * É avançada na mesma transação que grava cada lote, o que torna a reaplicação
+ * do journal após uma queda exata: nada é aplicado duas vezes nem fica para trás.
+ */
+@Entity
+@Table(name = "write_behind_checkpoint")
+@Data
+public class WriteBehindCheckpoint {
+
+    // Identificador do journal (gravado no arquivo journal.id do diretório)
+    @Id
+    @Column(name = "journal_id", length = 36)
+    private String journalId;
+
+    // Maior número de registro do journal já refletido nas tarefas
+    @Column(name = "applied_seq", nullable = false)
+    private Long appliedSeq;
+
+    // Momento do último avanço
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
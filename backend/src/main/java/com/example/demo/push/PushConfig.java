@@ -0,0 +1,47 @@
+package com.example.demo.push;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuração do canal de eventos: um agendador para os ciclos de envio e heartbeat,
+ * e um executor separado para a escrita nas conexões, de modo que clientes lentos
+ * não atrasem os ciclos nem os demais assinantes.
+ */
+@Configuration
+@EnableConfigurationProperties(PushProperties.class)
+public class PushConfig {
+
+    public static final String PUSH_SCHEDULER = "pushScheduler";
+    public static final String PUSH_SENDER = "pushSender";
+
+    @Bean(name = PUSH_SCHEDULER)
+    public ThreadPoolTaskScheduler pushScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("push-tick-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Cada assinante tem no máximo um envio em andamento, então a fila é limitada
+     * pelo número de conexões. No modo virtual threads, uma escrita bloqueada em um
+     * cliente lento não ocupa uma thread de plataforma.
+     */
+    @Bean(name = PUSH_SENDER)
+    public ThreadPoolTaskExecutor pushSender(PushProperties properties, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setCorePoolSize(properties.getSenderThreads());
+        executor.setMaxPoolSize(properties.getSenderThreads());
+        executor.setThreadNamePrefix("push-send-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.push;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configurações do canal de eventos de tarefas via Server-Sent Events (prefixo "push").
+ */
+@Data
+@ConfigurationProperties(prefix = "push")
+public class PushProperties {
+
+    // Janela de agrupamento: eventos dentro dela são combinados em uma única mensagem
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    // Intervalo dos comentários de keep-alive, que também detectam conexões mortas
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // Duração máxima de uma conexão; o EventSource do navegador reconecta sozinho
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    // Limite de conexões simultâneas por instância
+    private int maxSubscribers = 10000;
+
+    // Ids distintos acumulados em uma janela antes de trocar a mensagem por um "resync"
+    private int maxPendingIds = 10000;
+
+    // Mensagens aguardando envio por assinante antes de considerá-lo lento
+    private int maxQueuedPerSubscriber = 32;
+
+    // Threads que escrevem nas conexões (um assinante lento ocupa no máximo uma)
+    private int senderThreads = 4;
+}
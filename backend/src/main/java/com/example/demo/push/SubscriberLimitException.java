@@ -0,0 +1,11 @@
+package com.example.demo.push;
+
+/**
+ * Exceção lançada quando a instância já atingiu o limite de conexões de eventos.
+ */
+public class SubscriberLimitException extends RuntimeException {
+
+    public SubscriberLimitException(int limit) {
+        super("Limite de " + limit + " conexões de eventos atingido");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.push;
+
+import com.example.demo.due.TaskDueEvent;
+
+import java.util.List;
+
+/**
+ * Conteúdo de uma mensagem "due": tarefas do usuário com prazo próximo (REMINDER) ou vencido (OVERDUE).
+ * @param kind Tipo do aviso.
+ * @param ids Ids das tarefas, em ordem de prazo.
+ */
+public record TaskDueBatch(TaskDueEvent.Kind kind, List<Long> ids) {
+}
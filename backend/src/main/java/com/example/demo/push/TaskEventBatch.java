@@ -0,0 +1,13 @@
+package com.example.demo.push;
+
+import java.util.List;
+
+/**
+ * Conteúdo de uma mensagem "tasks": ids alterados durante uma janela de agrupamento.
+ * Os dados completos são obtidos pelo cliente via /api/tasks/changes (ou GET por id).
+ * @param created Ids das tarefas criadas.
+ * @param updated Ids das tarefas alteradas.
+ * @param deleted Ids das tarefas removidas.
+ */
+public record TaskEventBatch(List<Long> created, List<Long> updated, List<Long> deleted) {
+}
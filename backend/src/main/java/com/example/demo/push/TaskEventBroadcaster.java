@@ -0,0 +1,280 @@
+package com.example.demo.push;
+
+import com.example.demo.due.TaskDueEvent;
+import com.example.demo.service.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribui os eventos de escrita em tarefas (TaskChangedEvent) às conexões SSE abertas,
+ * substituindo o polling da listagem pelos dashboards.
+ * <p>
+ * Os eventos confirmados são combinados por id durante uma janela curta (push.flush-interval)
+ * e serializados uma única vez por janela e por usuário: cada conexão recebe apenas as alterações
+ * nas tarefas do seu usuário, em uma fila própria e limitada. Um cliente lento acumula no máximo push.max-queued-per-subscriber
+ * mensagens: além disso recebe um "resync" e deve buscar o que perdeu em /api/tasks/changes.
+ * <p>
+ * Os eventos são locais à instância: com várias réplicas, cada uma notifica apenas as
+ * escritas que ela mesma confirmou, e o resync/changes cobre o restante.
+ * <p>
+ * Os avisos de prazo (TaskDueEvent) já chegam em lotes por dono e são enviados como mensagens "due",
+ * sem janela de agrupamento; como só a instância com o lease da varredura os emite, apenas as
+ * conexões abertas nela os recebem.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    static final String TASKS_EVENT = "tasks";
+    static final String RESYNC_EVENT = "resync";
+    static final String DUE_EVENT = "due";
+
+    private final PushProperties properties;
+    private final ThreadPoolTaskExecutor sender;
+    private final ObjectMapper objectMapper;
+    private final Set<TaskEventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Timer lag;
+    private final Counter resyncs;
+
+    // Alterações da janela atual por dono, combinadas por id (protegidas pelo monitor deste objeto)
+    private Map<Long, Map<Long, TaskChangedEvent.Type>> pending = new HashMap<>();
+    private long pendingSince;
+    // Donos cuja janela passou de push.max-pending-ids: seus assinantes ressincronizam
+    private Set<Long> pendingOverflow = new HashSet<>();
+
+    public TaskEventBroadcaster(PushProperties properties,
+                                @Qualifier(PushConfig.PUSH_SCHEDULER) ThreadPoolTaskScheduler scheduler,
+                                @Qualifier(PushConfig.PUSH_SENDER) ThreadPoolTaskExecutor sender,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sender = sender;
+        this.objectMapper = objectMapper;
+        Gauge.builder("tasks.events.connections", subscribers, Set::size)
+                .description("Conexões SSE abertas")
+                .register(meterRegistry);
+        this.lag = Timer.builder("tasks.events.lag")
+                .description("Tempo entre o commit de uma alteração e a entrega ao cliente")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("tasks.events.resyncs")
+                .description("Mensagens descartadas e trocadas por resync (clientes lentos ou rajadas)")
+                .register(meterRegistry);
+        scheduler.scheduleAtFixedRate(this::flush, properties.getFlushInterval());
+        scheduler.scheduleAtFixedRate(this::heartbeat, properties.getHeartbeatInterval());
+    }
+
+    /**
+     * Abre uma nova conexão de eventos.
+     * @param ownerId Usuário da conexão: recebe apenas as alterações nas próprias tarefas.
+     * @throws SubscriberLimitException se o limite de conexões da instância foi atingido.
+     */
+    public SseEmitter subscribe(Long ownerId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new SubscriberLimitException(properties.getMaxSubscribers());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        TaskEventSubscriber subscriber = new TaskEventSubscriber(emitter, ownerId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        try {
+            // Envia os headers imediatamente, confirmando a conexão ao cliente
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            throw new UncheckedIOException(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Acumula as alterações confirmadas na janela atual. Roda na thread da escrita,
+     * após o commit, e custa apenas uma atualização de mapa por id.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (pendingOverflow.contains(event.ownerId())) {
+                return;
+            }
+            if (pending.isEmpty() && pendingOverflow.isEmpty()) {
+                pendingSince = System.nanoTime();
+            }
+            Map<Long, TaskChangedEvent.Type> window = pending.computeIfAbsent(event.ownerId(), owner -> new LinkedHashMap<>());
+            for (Long id : event.ids()) {
+                window.merge(id, event.type(), TaskEventBroadcaster::coalesce);
+            }
+            if (window.size() > properties.getMaxPendingIds()) {
+                // Rajada grande demais para uma mensagem: os assinantes do dono ressincronizam
+                pending.remove(event.ownerId());
+                pendingOverflow.add(event.ownerId());
+            }
+        }
+    }
+
+    /**
+     * Enfileira um aviso de prazo para as conexões do dono, após o commit do lote da varredura.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskDue(TaskDueEvent event) {
+        TaskEventSubscriber.Frame frame = null;
+        for (TaskEventSubscriber subscriber : subscribers) {
+            if (subscriber.ownerId.equals(event.ownerId())) {
+                if (frame == null) {
+                    frame = new TaskEventSubscriber.Frame(DUE_EVENT,
+                            toJson(new TaskDueBatch(event.kind(), event.ids())), System.nanoTime());
+                }
+                if (!subscriber.offer(frame, properties.getMaxQueuedPerSubscriber())) {
+                    resyncs.increment();
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Combina duas alterações do mesmo id dentro da janela: a exclusão prevalece,
+     * e uma tarefa criada e alterada na mesma janela continua sendo "criada".
+     */
+    static TaskChangedEvent.Type coalesce(TaskChangedEvent.Type previous, TaskChangedEvent.Type next) {
+        if (next == TaskChangedEvent.Type.DELETED) {
+            return next;
+        }
+        return previous == TaskChangedEvent.Type.CREATED ? previous : next;
+    }
+
+    /**
+     * Fecha a janela atual: serializa a mensagem de cada dono uma vez e a enfileira para os assinantes dele.
+     */
+    void flush() {
+        Map<Long, Map<Long, TaskChangedEvent.Type>> windows;
+        Set<Long> overflow;
+        long since;
+        synchronized (this) {
+            if (pending.isEmpty() && pendingOverflow.isEmpty()) {
+                return;
+            }
+            windows = pending;
+            overflow = pendingOverflow;
+            since = pendingSince;
+            pending = new HashMap<>();
+            pendingOverflow = new HashSet<>();
+        }
+        Map<Long, TaskEventSubscriber.Frame> frames = new HashMap<>();
+        for (TaskEventSubscriber subscriber : subscribers) {
+            Long owner = subscriber.ownerId;
+            if (overflow.contains(owner)) {
+                subscriber.requestResync();
+                resyncs.increment();
+                schedule(subscriber);
+            } else if (windows.containsKey(owner)) {
+                TaskEventSubscriber.Frame frame = frames.computeIfAbsent(owner,
+                        key -> new TaskEventSubscriber.Frame(TASKS_EVENT, toJson(windows.get(key)), since));
+                if (!subscriber.offer(frame, properties.getMaxQueuedPerSubscriber())) {
+                    resyncs.increment();
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private String toJson(Map<Long, TaskChangedEvent.Type> window) {
+        List<Long> created = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        window.forEach((id, type) -> {
+            switch (type) {
+                case CREATED -> created.add(id);
+                case UPDATED -> updated.add(id);
+                case DELETED -> deleted.add(id);
+            }
+        });
+        return toJson(new TaskEventBatch(created, updated, deleted));
+    }
+
+    private String toJson(Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Agenda o envio das mensagens pendentes, se ainda não houver um em andamento.
+     */
+    private void schedule(TaskEventSubscriber subscriber) {
+        if (subscriber.hasPending() && subscriber.sending.compareAndSet(false, true)) {
+            sender.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(TaskEventSubscriber subscriber) {
+        try {
+            if (subscriber.takeResync()) {
+                subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+            }
+            for (TaskEventSubscriber.Frame frame : subscriber.drain()) {
+                subscriber.emitter.send(SseEmitter.event().name(frame.name()).data(frame.json()));
+                lag.record(System.nanoTime() - frame.createdNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou conexão já encerrada
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Mensagens que chegaram durante a escrita
+        schedule(subscriber);
+    }
+
+    /**
+     * Envia um comentário às conexões ociosas: mantém proxies abertos e revela conexões mortas.
+     */
+    private void heartbeat() {
+        for (TaskEventSubscriber subscriber : subscribers) {
+            if (subscriber.sending.compareAndSet(false, true)) {
+                sender.execute(() -> {
+                    try {
+                        subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    } catch (IOException | IllegalStateException e) {
+                        subscribers.remove(subscriber);
+                    } finally {
+                        subscriber.sending.set(false);
+                    }
+                    schedule(subscriber);
+                });
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Uma conexão SSE e sua fila de mensagens já serializadas.
+ * A fila é limitada: se o cliente não acompanha o ritmo, as mensagens pendentes são
+ * descartadas e substituídas por um único "resync", que o cliente resolve consultando
+ * /api/tasks/changes a partir do seu último cursor.
+ */
+class TaskEventSubscriber {
+
+    /**
+     * Mensagem pronta para envio.
+     * @param name Nome do evento SSE ("tasks" ou "due").
+     * @param json Corpo já serializado (compartilhado por todos os assinantes).
+     * @param createdNanos Momento (System.nanoTime) do evento mais antigo da mensagem.
+     */
+    record Frame(String name, String json, long createdNanos) {
+    }
+
+    final SseEmitter emitter;
+
+    // Usuário da conexão (recebe apenas as alterações nas tarefas dele)
+    final Long ownerId;
+
+    // Garante no máximo um envio em andamento por assinante
+    final AtomicBoolean sending = new AtomicBoolean();
+
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private boolean resync;
+
+    TaskEventSubscriber(SseEmitter emitter, Long ownerId) {
+        this.emitter = emitter;
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Enfileira uma mensagem.
+     * @return false se a fila transbordou e o assinante passou a aguardar um resync.
+     */
+    synchronized boolean offer(Frame frame, int maxQueued) {
+        if (resync) {
+            return true;
+        }
+        if (queue.size() >= maxQueued) {
+            queue.clear();
+            resync = true;
+            return false;
+        }
+        queue.add(frame);
+        return true;
+    }
+
+    /**
+     * Sinaliza que o assinante deve ressincronizar, descartando as mensagens pendentes.
+     */
+    synchronized void requestResync() {
+        queue.clear();
+        resync = true;
+    }
+
+    synchronized boolean hasPending() {
+        return resync || !queue.isEmpty();
+    }
+
+    /**
+     * Retira as mensagens pendentes; uma lista vazia com resync pendente é indicada por takeResync().
+     */
+    synchronized List<Frame> drain() {
+        List<Frame> frames = new ArrayList<>(queue);
+        queue.clear();
+        return frames;
+    }
+
+    synchronized boolean takeResync() {
+        boolean value = resync;
+        resync = false;
+        return value;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AppUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório dos usuários da aplicação.
+ */
+@Repository
+public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+
+    Optional<AppUser> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    /**
+     * Troca o hash da senha (ex: senha legada convertida para BCrypt no login).
+     * @return Quantidade de linhas alteradas.
+     */
+    @Modifying
+    @Query("UPDATE AppUser u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+}
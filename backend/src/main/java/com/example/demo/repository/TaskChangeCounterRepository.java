@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskChangeCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositório do contador de alterações da tabela de tarefas.
+ */
+@Repository
+public interface TaskChangeCounterRepository extends JpaRepository<TaskChangeCounter, Integer> {
+
+    /**
+     * Incrementa o contador de forma atômica no banco (sem ler e regravar a linha).
+     * @return Quantidade de linhas alteradas (0 se a linha ainda não existir).
+     */
+    @Modifying
+    @Query("UPDATE TaskChangeCounter c SET c.version = c.version + 1, c.updatedAt = :now WHERE c.id = :id")
+    int increment(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    /**
+     * Lê o valor atual do contador direto do banco (ignora a instância em memória da sessão).
+     */
+    @Query("SELECT c.version FROM TaskChangeCounter c WHERE c.id = :id")
+    Long currentVersion(@Param("id") Integer id);
+
+    /**
+     * Trava a linha do contador até o fim da transação (SELECT ... FOR UPDATE), serializando
+     * com as escritas em tarefas sem alterar o contador.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskChangeCounter c WHERE c.id = :id")
+    Optional<TaskChangeCounter> lockById(@Param("id") Integer id);
+}
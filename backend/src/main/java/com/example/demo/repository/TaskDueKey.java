@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Campos de uma tarefa lidos pela varredura de prazos: o id e o prazo formam a posição, e o dono
+ * separa os avisos por usuário.
+ */
+public record TaskDueKey(Long id, Long ownerId, LocalDate dueDate) {
+}
@@ -0,0 +1,33 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskDueNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repositório dos avisos de prazo já emitidos dentro da janela das varreduras.
+ */
+@Repository
+public interface TaskDueNotificationRepository extends JpaRepository<TaskDueNotification, TaskDueNotification.Key> {
+
+    /**
+     * Registra o aviso sem carregar a entidade na sessão.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_due_notifications (kind, task_id, due_date) VALUES (:kind, :taskId, :dueDate)",
+            nativeQuery = true)
+    void insert(@Param("kind") String kind, @Param("taskId") Long taskId, @Param("dueDate") LocalDate dueDate);
+
+    /**
+     * Remove os avisos com prazo anterior à janela da varredura, que não serão mais relidos.
+     * @return Quantidade de avisos removidos.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskDueNotification n WHERE n.kind = :kind AND n.dueDate < :floor")
+    int deleteBefore(@Param("kind") String kind, @Param("floor") LocalDate floor);
+}
@@ -0,0 +1,47 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskDueScan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Repositório das varreduras de prazo: lease e posição já processada.
+ */
+@Repository
+public interface TaskDueScanRepository extends JpaRepository<TaskDueScan, String> {
+
+    /**
+     * Obtém ou renova o lease da varredura: só tem efeito se a instância já o detém ou se ele expirou.
+     * O UPDATE bloqueia a linha até o fim da transação, então duas instâncias nunca processam
+     * a mesma varredura ao mesmo tempo.
+     * @return 1 se o lease pertence à instância até {@code until}, 0 se outra o detém.
+     */
+    @Modifying
+    @Query("UPDATE TaskDueScan s SET s.holder = :holder, s.leaseUntil = :until "
+            + "WHERE s.kind = :kind AND (s.holder = :holder OR s.leaseUntil < :now)")
+    int acquire(@Param("kind") String kind,
+                @Param("holder") String holder,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    /**
+     * Avança a posição processada (apenas pelo detentor do lease).
+     * @param caughtUpAt Momento em que a varredura alcançou o horizonte, ou null para manter o anterior.
+     */
+    @Modifying
+    @Query("UPDATE TaskDueScan s SET s.cursorDueDate = :dueDate, s.cursorId = :id, "
+            + "s.caughtUpAt = COALESCE(:caughtUpAt, s.caughtUpAt), s.updatedAt = :now "
+            + "WHERE s.kind = :kind AND s.holder = :holder")
+    int advance(@Param("kind") String kind,
+                @Param("holder") String holder,
+                @Param("dueDate") LocalDate dueDate,
+                @Param("id") Long id,
+                @Param("caughtUpAt") LocalDateTime caughtUpAt,
+                @Param("now") LocalDateTime now);
+}
@@ -1,20 +1,178 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface de repositório para a entidade Task.
- * Ao estender JpaRepository, o Spring Data JPA fornece automaticamente 
+ * Ao estender JpaRepository, o Spring Data JPA fornece automaticamente
  * a implementação de todos os métodos de CRUD padrão (save, findAll, deleteById, etc.)
  * sem a necessidade de escrever código SQL ou implementações manuais.
+ * JpaSpecificationExecutor permite compor filtros dinâmicos (ver TaskSpecifications).
+ * As consultas usadas pela API recebem o dono (ownerId) e só enxergam as tarefas dele;
+ * os índices da tabela começam por owner_id, então cada consulta percorre apenas as linhas do usuário.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
     /* O JpaRepository recebe dois parâmetros genéricos:
        1. A entidade que ele gerencia (Task)
        2. O tipo do identificador primário (Long)
     */
-}
\ No newline at end of file
+
+    /**
+     * Tarefa do dono pelo id (vazio se não existir ou pertencer a outro usuário).
+     */
+    Optional<Task> findByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Tarefas do dono dentre os ids informados (consulta única com IN).
+     */
+    List<Task> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    /**
+     * Percorre as tarefas filtradas do dono através de um cursor JDBC, sem materializar a lista.
+     * O fetch size faz o driver do PostgreSQL buscar as linhas em blocos (requer transação ativa),
+     * e o hint de somente leitura evita que o Hibernate guarde snapshots para dirty checking.
+     * Parâmetros nulos desativam o respectivo filtro.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.ownerId = :ownerId "
+            + "AND (:status IS NULL OR t.status = :status) "
+            + "AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom) "
+            + "AND (:dueTo IS NULL OR t.dueDate <= :dueTo) "
+            + "ORDER BY t.id")
+    Stream<Task> streamByFilter(@Param("ownerId") Long ownerId,
+                                @Param("status") TaskStatus status,
+                                @Param("dueFrom") LocalDate dueFrom,
+                                @Param("dueTo") LocalDate dueTo);
+
+    /**
+     * Percorre as tarefas de todos os usuários, como streamByFilter (carga do índice de busca em memória).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    /**
+     * Substitui a descrição apenas se ela ainda for igual ao valor esperado (compare-and-set),
+     * evitando sobrescrever uma edição feita pelo usuário. Incrementa a versão, já que
+     * updates em massa (JPQL) não passam pelo controle de versão do Hibernate.
+     * @param changeSeq Posição da alteração na sequência de mudanças (TaskChangeTracker.nextChangeSeq()).
+     * @return Quantidade de linhas alteradas (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Task t SET t.description = :newDescription, t.version = t.version + 1, "
+            + "t.changeSeq = :changeSeq, t.updatedAt = :now WHERE t.id = :id AND t.description = :expected")
+    int replaceDescription(@Param("id") Long id,
+                           @Param("expected") String expected,
+                           @Param("newDescription") String newDescription,
+                           @Param("changeSeq") long changeSeq,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Exclusão lógica em massa: transforma as tarefas do dono em tombstones. A alteração entra na
+     * sequência de mudanças (para que a sincronização incremental a entregue) por assignChangeSeq.
+     * @return Quantidade de tarefas marcadas.
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.deleted = true, t.version = t.version + 1, t.updatedAt = :now "
+            + "WHERE t.ownerId = :ownerId AND t.id IN :ids AND t.deleted = false")
+    int markDeleted(@Param("ownerId") Long ownerId,
+                    @Param("ids") Collection<Long> ids,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Grava a posição na sequência de mudanças de tarefas já gravadas na transação corrente
+     * (inclusive tombstones, por isso a consulta nativa). Usado pelas escritas em lote, que
+     * reservam o número (TaskChangeTracker.nextChangeSeq()) só depois de gravar as linhas.
+     * @return Quantidade de tarefas atualizadas.
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET change_seq = :changeSeq WHERE id IN (:ids)", nativeQuery = true)
+    int assignChangeSeq(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
+    /**
+     * Alterações do dono posteriores ao cursor (change_seq, id), incluindo tombstones, na ordem em que
+     * foram confirmadas. Consulta nativa para não ser filtrada pelo @SQLRestriction da entidade.
+     */
+    @Query(value = "SELECT * FROM tasks WHERE owner_id = :ownerId AND (change_seq, id) > (:changeSeq, :id) "
+            + "ORDER BY change_seq, id LIMIT :limit", nativeQuery = true)
+    List<Task> findChangesAfter(@Param("ownerId") Long ownerId,
+                                @Param("changeSeq") long changeSeq,
+                                @Param("id") long id,
+                                @Param("limit") int limit);
+
+    /**
+     * Próximo lote da varredura de prazos (todos os usuários): tarefas não concluídas com prazo até o
+     * horizonte, posteriores à posição (prazo, id), na ordem do índice idx_tasks_due_date_id.
+     * A comparação por tupla vira um intervalo do índice, então cada lote lê apenas as próprias linhas.
+     */
+    @Query("SELECT new com.example.demo.repository.TaskDueKey(t.id, t.ownerId, t.dueDate) FROM Task t "
+            + "WHERE t.status <> :done AND t.dueDate <= :horizon AND (t.dueDate, t.id) > (:dueDate, :id) "
+            + "ORDER BY t.dueDate, t.id")
+    List<TaskDueKey> findDueAfter(@Param("done") TaskStatus done,
+                                  @Param("horizon") LocalDate horizon,
+                                  @Param("dueDate") LocalDate dueDate,
+                                  @Param("id") long id,
+                                  Limit limit);
+
+    /**
+     * Releitura da janela de uma varredura de prazos: tarefas não concluídas com prazo a partir de
+     * {@code floor} e até a posição (prazo, id), ainda sem aviso do tipo para o prazo atual. São as
+     * tarefas confirmadas depois que a posição passou por elas (ids fora da ordem de commit) ou
+     * criadas/alteradas com um prazo já varrido dentro da janela.
+     */
+    @Query("SELECT new com.example.demo.repository.TaskDueKey(t.id, t.ownerId, t.dueDate) FROM Task t "
+            + "WHERE t.status <> :done AND t.dueDate >= :floor AND (t.dueDate, t.id) <= (:dueDate, :id) "
+            + "AND NOT EXISTS (SELECT 1 FROM TaskDueNotification n "
+            + "WHERE n.kind = :kind AND n.taskId = t.id AND n.dueDate = t.dueDate) "
+            + "ORDER BY t.dueDate, t.id")
+    List<TaskDueKey> findDueNotNotified(@Param("kind") String kind,
+                                        @Param("done") TaskStatus done,
+                                        @Param("floor") LocalDate floor,
+                                        @Param("dueDate") LocalDate dueDate,
+                                        @Param("id") long id,
+                                        Limit limit);
+
+    /**
+     * Retorna, dentre os ids informados, apenas os que existem e pertencem ao dono (consulta única com IN),
+     * com o status e o prazo necessários para descontá-los das estatísticas.
+     */
+    @Query("SELECT new com.example.demo.repository.TaskStatsKey(t.id, t.status, t.dueDate) FROM Task t "
+            + "WHERE t.ownerId = :ownerId AND t.id IN :ids")
+    List<TaskStatsKey> findStatsKeys(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Contagem real das tarefas ativas de todos os usuários por dono, status e prazo,
+     * usada na reconciliação das estatísticas.
+     * @return Quádruplas [dono, status, prazo, quantidade].
+     */
+    @Query("SELECT t.ownerId, t.status, t.dueDate, COUNT(t) FROM Task t GROUP BY t.ownerId, t.status, t.dueDate")
+    List<Object[]> countByOwnerStatusAndDueDate();
+}
@@ -0,0 +1,84 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fábrica de Specifications (critérios dinâmicos) para consultas sobre Task.
+ * Cada método devolve um predicado independente; valores nulos resultam em
+ * "sem filtro", permitindo combinar os critérios livremente com and().
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Restringe às tarefas do dono; acompanha todas as consultas da API.
+     */
+    public static Specification<Task> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    /**
+     * Filtra pelo status exato da tarefa.
+     */
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Filtra tarefas com prazo a partir da data informada (inclusive).
+     */
+    public static Specification<Task> dueFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    /**
+     * Filtra tarefas com prazo até a data informada (inclusive).
+     */
+    public static Specification<Task> dueTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    /**
+     * Predicado de keyset para ordenação por id: retorna apenas as linhas após o último id lido.
+     * @param lastId Último id entregue na página anterior (null na primeira página).
+     * @param ascending Direção da ordenação.
+     */
+    public static Specification<Task> afterId(Long lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            if (lastId == null) {
+                return null;
+            }
+            return ascending ? cb.greaterThan(root.get("id"), lastId) : cb.lessThan(root.get("id"), lastId);
+        };
+    }
+
+    /**
+     * Predicado de keyset para ordenação por (created_at, id).
+     * O id desempata tarefas criadas no mesmo instante, garantindo uma ordem total.
+     * @param lastCreatedAt Data de criação da última linha da página anterior.
+     * @param lastId Id da última linha da página anterior.
+     * @param ascending Direção da ordenação.
+     */
+    public static Specification<Task> afterCreatedAt(LocalDateTime lastCreatedAt, Long lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            if (lastCreatedAt == null || lastId == null) {
+                return null;
+            }
+            if (ascending) {
+                return cb.or(
+                        cb.greaterThan(root.get("createdAt"), lastCreatedAt),
+                        cb.and(cb.equal(root.get("createdAt"), lastCreatedAt), cb.greaterThan(root.get("id"), lastId)));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), lastCreatedAt),
+                    cb.and(cb.equal(root.get("createdAt"), lastCreatedAt), cb.lessThan(root.get("id"), lastId)));
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Campos de uma tarefa que definem seu grupo nas estatísticas (ver TaskStatsBucket).
+ */
+public record TaskStatsKey(Long id, TaskStatus status, LocalDate dueDate) {
+}
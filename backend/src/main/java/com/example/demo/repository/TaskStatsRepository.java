@@ -0,0 +1,70 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskStatsBucket;
+import com.example.demo.model.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório do resumo de tarefas por dono, status e prazo.
+ */
+@Repository
+public interface TaskStatsRepository extends JpaRepository<TaskStatsBucket, String> {
+
+    /**
+     * Soma a variação ao grupo de forma atômica no banco.
+     * @return Quantidade de linhas alteradas (0 se o grupo ainda não existir).
+     */
+    @Modifying
+    @Query("UPDATE TaskStatsBucket b SET b.taskCount = b.taskCount + :delta WHERE b.bucket = :bucket")
+    int increment(@Param("bucket") String bucket, @Param("delta") long delta);
+
+    /**
+     * Cria o grupo já com a quantidade informada (sem carregar a entidade na sessão).
+     * @param status Código do status (TaskStatus.getCode()).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_stats (bucket, owner_id, status, due_date, task_count) "
+            + "VALUES (:bucket, :ownerId, :status, :dueDate, :taskCount)", nativeQuery = true)
+    void insert(@Param("bucket") String bucket,
+                @Param("ownerId") Long ownerId,
+                @Param("status") short status,
+                @Param("dueDate") LocalDate dueDate,
+                @Param("taskCount") long taskCount);
+
+    /**
+     * Quantidade de tarefas do dono por status (status sem tarefas são omitidos).
+     * @return Pares [status, quantidade].
+     */
+    @Query("SELECT b.status, SUM(b.taskCount) FROM TaskStatsBucket b WHERE b.ownerId = :ownerId "
+            + "GROUP BY b.status HAVING SUM(b.taskCount) > 0")
+    List<Object[]> sumByStatus(@Param("ownerId") Long ownerId);
+
+    /**
+     * Quantidade de tarefas do dono não concluídas com prazo anterior à data.
+     */
+    @Query("SELECT COALESCE(SUM(b.taskCount), 0) FROM TaskStatsBucket b "
+            + "WHERE b.ownerId = :ownerId AND b.status <> :done AND b.dueDate < :date")
+    long sumOpenDueBefore(@Param("ownerId") Long ownerId, @Param("done") TaskStatus done, @Param("date") LocalDate date);
+
+    /**
+     * Quantidade de tarefas do dono não concluídas com prazo no intervalo (inclusivo).
+     */
+    @Query("SELECT COALESCE(SUM(b.taskCount), 0) FROM TaskStatsBucket b "
+            + "WHERE b.ownerId = :ownerId AND b.status <> :done AND b.dueDate BETWEEN :from AND :to")
+    long sumOpenDueBetween(@Param("ownerId") Long ownerId, @Param("done") TaskStatus done,
+                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Remove os grupos que ficaram vazios.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskStatsBucket b WHERE b.taskCount = 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.WriteBehindCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório do progresso do journal de write-behind.
+ */
+@Repository
+public interface WriteBehindCheckpointRepository extends JpaRepository<WriteBehindCheckpoint, String> {
+
+    /**
+     * Avança a posição aplicada, sem nunca retroceder.
+     * @return Quantidade de linhas alteradas.
+     */
+    @Modifying
+    @Query("UPDATE WriteBehindCheckpoint c SET c.appliedSeq = :seq, c.updatedAt = :now "
+            + "WHERE c.journalId = :journalId AND c.appliedSeq < :seq")
+    int advance(@Param("journalId") String journalId, @Param("seq") long seq, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,167 @@
+package com.example.demo.search;
+
+import com.example.demo.model.Task;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.service.TaskChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice invertido embarcado, usado quando o banco não oferece busca textual (ex: H2 nos testes).
+ * <p>
+ * Cada palavra normalizada (sem acentos) do título e da descrição aponta para os ids que a contêm; termos
+ * de busca casam por prefixo (varredura ordenada do mapa de termos). A relevância soma, por termo,
+ * 3 pontos se estiver no título e 1 na descrição, com bônus para a palavra exata.
+ * O índice é carregado na inicialização e atualizado após o commit de cada escrita (TaskChangedEvent).
+ * O índice é único para todos os usuários; os candidatos de outros donos são descartados antes da pontuação.
+ */
+public class InMemoryTaskSearchEngine implements TaskSearchEngine {
+
+    /**
+     * Texto indexado de uma tarefa.
+     */
+    private record Document(Long id, Long ownerId, String title, String description, Set<String> titleWords, Set<String> descriptionWords) {
+    }
+
+    private final TaskRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    public InMemoryTaskSearchEngine(TaskRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Carrega todas as tarefas no índice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var tasks = repository.streamAll()) {
+                tasks.forEach(this::index);
+            }
+        });
+    }
+
+    /**
+     * Atualiza o índice com as tarefas alteradas, após o commit da escrita.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            event.ids().forEach(this::remove);
+            return;
+        }
+        List<Long> ids = event.ids().stream().filter(Objects::nonNull).toList();
+        repository.findAllById(ids).forEach(this::index);
+    }
+
+    synchronized void index(Task task) {
+        remove(task.getId());
+        Document document = new Document(task.getId(), task.getOwnerId(), task.getTitle(), task.getDescription(),
+                words(task.getTitle()), words(task.getDescription()));
+        documents.put(task.getId(), document);
+        for (String word : document.titleWords()) {
+            postings.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(task.getId());
+        }
+        for (String word : document.descriptionWords()) {
+            postings.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(task.getId());
+        }
+    }
+
+    synchronized void remove(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String word : previous.titleWords()) {
+            removePosting(word, id);
+        }
+        for (String word : previous.descriptionWords()) {
+            removePosting(word, id);
+        }
+    }
+
+    private void removePosting(String word, Long id) {
+        postings.computeIfPresent(word, (w, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    @Override
+    public TaskSearchPage search(Long ownerId, List<String> query, int page, int size) {
+        // O índice guarda as palavras sem acentos; os termos são comparados da mesma forma
+        List<String> terms = query.stream().map(SearchHighlighter::normalize).distinct().toList();
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> matches = new HashSet<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(matches::addAll);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+
+        record Scored(Document document, double score) {
+        }
+        List<Scored> ranked = new ArrayList<>();
+        for (Long id : candidates == null ? Set.<Long>of() : candidates) {
+            Document document = documents.get(id);
+            if (document != null && document.ownerId().equals(ownerId)) {
+                ranked.add(new Scored(document, score(document, terms)));
+            }
+        }
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(scored -> scored.document().id(), Comparator.reverseOrder()));
+
+        // Destaques apenas para a página devolvida
+        int from = Math.min(page * size, ranked.size());
+        int to = Math.min(from + size + 1, ranked.size());
+        List<TaskSearchHit> hits = ranked.subList(from, to).stream()
+                .map(scored -> new TaskSearchHit(scored.document().id(), scored.document().title(),
+                        SearchHighlighter.highlight(scored.document().title(), terms, false),
+                        SearchHighlighter.highlight(scored.document().description(), terms, true),
+                        scored.score()))
+                .toList();
+        return PostgresTaskSearchEngine.page(hits, page, size, false);
+    }
+
+    private static double score(Document document, List<String> terms) {
+        double score = 0;
+        for (String term : terms) {
+            score += weight(document.titleWords(), term, 3) + weight(document.descriptionWords(), term, 1);
+        }
+        return score;
+    }
+
+    private static double weight(Set<String> words, String term, double base) {
+        if (words.contains(term)) {
+            return base * 1.5;
+        }
+        return words.stream().anyMatch(word -> word.startsWith(term)) ? base : 0;
+    }
+
+    private static Set<String> words(String text) {
+        return text == null ? Set.of() : new HashSet<>(SearchHighlighter.terms(SearchHighlighter.normalize(text), Integer.MAX_VALUE));
+    }
+}
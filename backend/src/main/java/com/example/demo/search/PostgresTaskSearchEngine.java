@@ -0,0 +1,125 @@
+package com.example.demo.search;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Busca textual no PostgreSQL.
+ * <p>
+ * O índice é a coluna gerada tasks.search_vector (título com peso A, descrição com peso B)
+ * com índice GIN, criados pelas migrações V4 e V5: o próprio banco a recalcula em cada
+ * INSERT/UPDATE, na mesma transação das escritas do TaskService.
+ * Vetor e consulta usam a configuração "{search.language}_unaccent" (V4), que remove os acentos
+ * antes do stemming: "acao" e "ação" casam nos dois sentidos. Os termos chegam com os acentos.
+ * Tombstones são excluídos pelo filtro deleted = false, e cada busca considera apenas as tarefas
+ * do dono (filtro sobre as linhas encontradas pelo índice GIN).
+ * <p>
+ * A ordenação por relevância (ts_rank_cd) considera no máximo as search.max-candidates
+ * correspondências mais recentes (maior id); quando há mais, a página sai com approximate = true.
+ * O ts_headline roda apenas nas linhas da página. Sem correspondência exata,
+ * a busca cai para similaridade de trigramas no título sem acentos (pg_trgm e search_unaccent),
+ * que tolera erros de digitação; esse resultado aproximado tem uma única página.
+ */
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+
+    private static final String HEADLINE_TITLE = "StartSel=" + SearchHighlighter.START_MARKER
+            + ", StopSel=" + SearchHighlighter.STOP_MARKER + ", HighlightAll=true";
+    private static final String HEADLINE_DESCRIPTION = "StartSel=" + SearchHighlighter.START_MARKER
+            + ", StopSel=" + SearchHighlighter.STOP_MARKER + ", MinWords=10, MaxWords=30, MaxFragments=2";
+
+    private static final String FULL_TEXT_QUERY = """
+            WITH q AS (SELECT to_tsquery(CAST(:config AS regconfig), :tsquery) AS query),
+            candidates AS (
+                SELECT t.id, t.title, t.description, t.search_vector,
+                       row_number() OVER (ORDER BY t.id DESC) AS position
+                FROM tasks t, q
+                WHERE t.owner_id = :ownerId AND t.deleted = false AND t.search_vector @@ q.query
+                ORDER BY t.id DESC
+                LIMIT :maxCandidates + 1
+            ),
+            ranked AS (
+                SELECT c.id, c.title, c.description, ts_rank_cd(c.search_vector, q.query) AS score
+                FROM candidates c, q
+                WHERE c.position <= :maxCandidates
+                ORDER BY score DESC, c.id DESC
+                LIMIT :limit OFFSET :offset
+            )
+            SELECT r.id, r.title, r.score,
+                   (SELECT count(*) FROM candidates) > :maxCandidates AS truncated,
+                   ts_headline(CAST(:config AS regconfig), r.title, q.query, :titleOptions) AS title_hl,
+                   ts_headline(CAST(:config AS regconfig), coalesce(r.description, ''), q.query, :descriptionOptions) AS description_hl
+            FROM ranked r, q
+            ORDER BY r.score DESC, r.id DESC
+            """;
+
+    private static final String TRIGRAM_QUERY = """
+            SELECT t.id, t.title, t.description, similarity(search_unaccent(t.title), search_unaccent(:text)) AS score
+            FROM tasks t
+            WHERE t.owner_id = :ownerId AND t.deleted = false
+              AND similarity(search_unaccent(t.title), search_unaccent(:text)) >= :threshold
+              AND search_unaccent(t.title) % search_unaccent(:text)
+            ORDER BY score DESC, t.id DESC
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SearchProperties properties;
+    private final String textSearchConfig;
+
+    public PostgresTaskSearchEngine(NamedParameterJdbcTemplate jdbc, SearchProperties properties) {
+        if (!properties.getLanguage().matches("[a-z_]+")) {
+            throw new IllegalArgumentException("search.language inválido: " + properties.getLanguage());
+        }
+        this.jdbc = jdbc;
+        this.properties = properties;
+        this.textSearchConfig = properties.getLanguage() + "_unaccent";
+    }
+
+    @Override
+    public TaskSearchPage search(Long ownerId, List<String> terms, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("config", textSearchConfig)
+                // Termos contêm apenas letras e dígitos (SearchHighlighter.terms), então a sintaxe é segura
+                .addValue("tsquery", terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & ")))
+                .addValue("maxCandidates", properties.getMaxCandidates())
+                .addValue("limit", size + 1)
+                .addValue("offset", page * size)
+                .addValue("titleOptions", HEADLINE_TITLE)
+                .addValue("descriptionOptions", HEADLINE_DESCRIPTION);
+        record Row(TaskSearchHit hit, boolean truncated) {
+        }
+        List<Row> rows = jdbc.query(FULL_TEXT_QUERY, params, (rs, row) -> new Row(new TaskSearchHit(
+                rs.getLong("id"),
+                rs.getString("title"),
+                SearchHighlighter.fromMarkers(rs.getString("title_hl")),
+                SearchHighlighter.fromMarkers(rs.getString("description_hl")),
+                rs.getDouble("score")), rs.getBoolean("truncated")));
+        if (!rows.isEmpty() || page > 0) {
+            boolean truncated = !rows.isEmpty() && rows.get(0).truncated();
+            return page(rows.stream().map(Row::hit).toList(), page, size, truncated);
+        }
+
+        MapSqlParameterSource fuzzy = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("text", String.join(" ", terms))
+                .addValue("threshold", properties.getTrigramThreshold())
+                .addValue("limit", size);
+        List<TaskSearchHit> approximate = jdbc.query(TRIGRAM_QUERY, fuzzy, (rs, row) -> new TaskSearchHit(
+                rs.getLong("id"),
+                rs.getString("title"),
+                SearchHighlighter.highlight(rs.getString("title"), terms, false),
+                SearchHighlighter.highlight(rs.getString("description"), terms, true),
+                rs.getDouble("score")));
+        return new TaskSearchPage(approximate, page, size, false, true);
+    }
+
+    static TaskSearchPage page(List<TaskSearchHit> rows, int page, int size, boolean approximate) {
+        boolean hasMore = rows.size() > size;
+        List<TaskSearchHit> hits = hasMore ? List.copyOf(rows.subList(0, size)) : List.copyOf(rows);
+        return new TaskSearchPage(hits, page, size, hasMore, approximate);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.search;
+
+import com.example.demo.repository.TaskRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Escolhe o mecanismo de busca textual conforme search.engine.
+ * Em "auto", usa o PostgreSQL quando o banco é PostgreSQL e o índice em memória nos demais (H2).
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    public TaskSearchEngine taskSearchEngine(SearchProperties properties, DataSource dataSource,
+                                             NamedParameterJdbcTemplate jdbc, TaskRepository repository,
+                                             TransactionTemplate transactionTemplate) throws SQLException {
+        String engine = properties.getEngine();
+        if ("auto".equals(engine)) {
+            try (Connection connection = dataSource.getConnection()) {
+                engine = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()) ? "postgres" : "memory";
+            }
+        }
+        return switch (engine) {
+            case "postgres" -> new PostgresTaskSearchEngine(jdbc, properties);
+            case "memory" -> new InMemoryTaskSearchEngine(repository, transactionTemplate);
+            default -> throw new IllegalArgumentException("search.engine inválido: " + engine);
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de termos e geração de destaques (highlighting) em HTML seguro.
+ * Todo texto vindo das tarefas é escapado antes de receber as marcações &lt;mark&gt;.
+ */
+public final class SearchHighlighter {
+
+    // Delimitadores usados pelo ts_headline do PostgreSQL, convertidos depois em <mark>
+    static final String START_MARKER = "\u0001";
+    static final String STOP_MARKER = "\u0002";
+
+    // Limite de termos por busca (cada termo vira uma condição na consulta)
+    static final int MAX_TERMS = 8;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEAD = 40;
+
+    private SearchHighlighter() {
+    }
+
+    /**
+     * Remove acentos e converte para minúsculas ("Descrição" → "descricao").
+     */
+    public static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Extrai os termos de busca: palavras em minúsculas, sem repetição. Os acentos são mantidos;
+     * cada mecanismo de busca os compara à sua maneira (dicionário unaccent no PostgreSQL,
+     * normalize() no índice em memória).
+     */
+    public static List<String> terms(String query) {
+        return terms(query, MAX_TERMS);
+    }
+
+    static List<String> terms(String text, int max) {
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher matcher = WORD.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < max) {
+            terms.add(matcher.group());
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Destaca as palavras do texto que começam com algum dos termos, ignorando acentos.
+     * @param snippet true para devolver apenas um trecho ao redor da primeira ocorrência.
+     */
+    public static String highlight(String text, List<String> terms, boolean snippet) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<String> normalized = terms.stream().map(SearchHighlighter::normalize).toList();
+        List<int[]> matches = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            String word = normalize(matcher.group());
+            if (normalized.stream().anyMatch(word::startsWith)) {
+                matches.add(new int[]{matcher.start(), matcher.end()});
+            }
+        }
+        int from = 0;
+        int to = text.length();
+        if (snippet && text.length() > SNIPPET_LENGTH) {
+            from = matches.isEmpty() ? 0 : Math.max(0, matches.get(0)[0] - SNIPPET_LEAD);
+            to = Math.min(text.length(), from + SNIPPET_LENGTH);
+        }
+        StringBuilder out = new StringBuilder();
+        if (from > 0) {
+            out.append('…');
+        }
+        int position = from;
+        for (int[] match : matches) {
+            if (match[0] < from || match[1] > to) {
+                continue;
+            }
+            out.append(escape(text.substring(position, match[0])))
+                    .append("<mark>").append(escape(text.substring(match[0], match[1]))).append("</mark>");
+            position = match[1];
+        }
+        out.append(escape(text.substring(position, to)));
+        if (to < text.length()) {
+            out.append('…');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Converte a saída do ts_headline (delimitada por START_MARKER/STOP_MARKER) em HTML seguro.
+     */
+    public static String fromMarkers(String text) {
+        if (text == null) {
+            return "";
+        }
+        return escape(text).replace(START_MARKER, "<mark>").replace(STOP_MARKER, "</mark>");
+    }
+
+    static String escape(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
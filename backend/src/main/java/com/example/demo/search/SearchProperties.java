@@ -0,0 +1,29 @@
+package com.example.demo.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da busca textual de tarefas (prefixo "search").
+ */
+@Data
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    /**
+     * Mecanismo de busca: auto (PostgreSQL quando disponível, senão índice em memória),
+     * postgres ou memory.
+     */
+    private String engine = "auto";
+
+    // Configuração de idioma do PostgreSQL usada no tsvector (stemming e stop words); a busca usa
+    // a cópia sem acentos "{language}_unaccent", criada pela migração V4
+    private String language = "portuguese";
+
+    // Máximo de correspondências ordenadas por relevância (as mais recentes); limita o custo de termos
+    // muito comuns, e buscas que o ultrapassam são marcadas como aproximadas
+    private int maxCandidates = 10000;
+
+    // Similaridade mínima (0 a 1) da busca aproximada por trigramas, usada quando não há resultado exato
+    private double trigramThreshold = 0.3;
+}
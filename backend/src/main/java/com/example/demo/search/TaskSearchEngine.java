@@ -0,0 +1,21 @@
+package com.example.demo.search;
+
+import java.util.List;
+
+/**
+ * Mecanismo de busca textual sobre título e descrição das tarefas.
+ * Implementações: PostgresTaskSearchEngine (tsvector/GIN com fallback por trigramas) e
+ * InMemoryTaskSearchEngine (índice invertido embarcado, para bancos sem busca textual).
+ */
+public interface TaskSearchEngine {
+
+    /**
+     * Busca as tarefas do dono que contêm todos os termos (aceitando prefixos), ordenadas por relevância.
+     * @param ownerId Dono das tarefas.
+     * @param terms Termos extraídos por SearchHighlighter.terms() (minúsculas, com acentos).
+     * @param page Número da página (a partir de 0).
+     * @param size Tamanho da página.
+     * @return Resultados da página, com trechos destacados.
+     */
+    TaskSearchPage search(Long ownerId, List<String> terms, int page, int size);
+}
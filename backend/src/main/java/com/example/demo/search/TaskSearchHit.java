@@ -0,0 +1,14 @@
+package com.example.demo.search;
+
+/**
+ * Um resultado da busca.
+ * Os destaques são HTML seguro: o texto original é escapado e os termos encontrados
+ * ficam entre &lt;mark&gt; e &lt;/mark&gt;.
+ * @param id Id da tarefa.
+ * @param title Título original.
+ * @param titleHighlight Título com os termos destacados.
+ * @param descriptionHighlight Trecho da descrição com os termos destacados (vazio se não houver descrição).
+ * @param score Relevância (maior é melhor; comparável apenas dentro da mesma busca).
+ */
+public record TaskSearchHit(Long id, String title, String titleHighlight, String descriptionHighlight, double score) {
+}
@@ -0,0 +1,15 @@
+package com.example.demo.search;
+
+import java.util.List;
+
+/**
+ * Página de resultados da busca.
+ * @param hits Resultados em ordem de relevância.
+ * @param page Número da página (a partir de 0).
+ * @param size Tamanho da página.
+ * @param hasMore true quando existe uma próxima página.
+ * @param approximate true quando os resultados vieram da busca aproximada (trigramas) ou quando a
+ *                    ordenação considerou apenas parte das correspondências (search.max-candidates).
+ */
+public record TaskSearchPage(List<TaskSearchHit> hits, int page, int size, boolean hasMore, boolean approximate) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Usuário autenticado pelo token JWT (principal da requisição).
+ * Traz o id do usuário, lido do próprio token: as consultas por dono não precisam buscá-lo no banco.
+ * @param id Id do usuário (AppUser).
+ * @param username Nome de login (subject do token).
+ */
+public record AuthenticatedUser(Long id, String username) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.demo.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +15,50 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenCache tokenCache;
+    // Tokens rejeitados, por motivo: expired, signature, malformed ou other
+    private final Map<String, Counter> failures;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtTokenCache tokenCache, MeterRegistry meterRegistry) {
+        this.tokenCache = tokenCache;
+        this.failures = Map.of(
+                "expired", failureCounter(meterRegistry, "expired"),
+                "signature", failureCounter(meterRegistry, "signature"),
+                "malformed", failureCounter(meterRegistry, "malformed"),
+                "other", failureCounter(meterRegistry, "other"));
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("jwt.validation.failures")
+                .description("Tokens JWT rejeitados pelo filtro de autenticação")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    static String failureReason(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SecurityException) {
+            return "signature";
+        }
+        if (e instanceof MalformedJwtException || e instanceof UnsupportedJwtException || e instanceof IllegalArgumentException) {
+            return "malformed";
+        }
+        return "other";
+    }
+
+    /**
+     * Conexões de longa duração (SSE) terminam em um dispatch assíncrono, que também passa
+     * pela autorização; o token do mesmo request é validado de novo (resolvido pelo cache).
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 
     @Override
@@ -34,15 +77,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                String username = jwtUtil.extractUsername(token);
+                // Tokens já verificados são resolvidos pelo cache, sem refazer o HMAC
+                JwtTokenCache.VerifiedToken verified = tokenCache.resolve(token);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (verified.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                            username, null, new ArrayList<>());
+                            new AuthenticatedUser(verified.userId(), verified.username()), null, new ArrayList<>());
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             } catch (Exception e) {
                 // Se o token for inválido ou expirado, não autentica (mas continua o filtro para gerar 403 se a rota for protegida)
+                failures.get(failureReason(e)).increment();
                 logger.error("Falha ao validar token JWT: " + e.getMessage());
             }
         }
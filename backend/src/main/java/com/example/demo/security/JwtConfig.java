@@ -0,0 +1,18 @@
+package com.example.demo.security;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Carrega as chaves de assinatura dos tokens (jwt.keys) uma única vez na inicialização.
+ */
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtProperties properties) {
+        return new JwtKeyRing(properties);
+    }
+}
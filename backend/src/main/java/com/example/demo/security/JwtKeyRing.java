@@ -0,0 +1,227 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.KeyException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chaves de assinatura e validação dos tokens, carregadas de JwtProperties na inicialização.
+ * <p>
+ * A chave ativa assina os tokens e grava seu kid no header; na validação, o kid do token escolhe
+ * a chave em um mapa imutável, sem alocação além da do próprio parser. Com chaves EC (ES256),
+ * só a chave pública é necessária para validar: ela é publicada em /api/auth/jwks para que
+ * outros serviços (ex: um gateway) validem os tokens sem conhecer o segredo.
+ * Configuração inválida impede a inicialização, com a chave e o motivo na mensagem.
+ */
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    // Kid da chave aleatória usada quando nenhuma chave é configurada
+    static final String EPHEMERAL_KEY_ID = "ephemeral";
+
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+
+    public JwtKeyRing(JwtProperties properties) {
+        Map<String, Key> verification = new LinkedHashMap<>();
+        Map<String, Key> signing = new LinkedHashMap<>();
+        if (properties.getKeys().isEmpty()) {
+            log.warn("Nenhuma chave em jwt.keys: usando uma chave aleatória; os tokens deixam de valer ao reiniciar "
+                    + "e não são aceitos por outras instâncias");
+            SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            verification.put(EPHEMERAL_KEY_ID, key);
+            signing.put(EPHEMERAL_KEY_ID, key);
+        } else {
+            KeyStore keyStore = null;
+            for (Map.Entry<String, JwtProperties.SigningKey> entry : properties.getKeys().entrySet()) {
+                String kid = entry.getKey();
+                JwtProperties.SigningKey config = entry.getValue();
+                try {
+                    if (config.getAlias() != null && keyStore == null) {
+                        keyStore = loadKeyStore(properties.getKeyStore());
+                    }
+                    load(kid, config, keyStore, properties.getKeyStore(), verification, signing);
+                } catch (GeneralSecurityException | IOException | IllegalArgumentException | KeyException e) {
+                    throw new IllegalStateException("jwt.keys." + kid + " inválida: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        String active = properties.getActiveKeyId();
+        if (active == null || active.isBlank()) {
+            if (verification.size() != 1) {
+                throw new IllegalStateException("jwt.active-key-id é obrigatório com mais de uma chave em jwt.keys");
+            }
+            active = verification.keySet().iterator().next();
+        }
+        if (!signing.containsKey(active)) {
+            throw new IllegalStateException("jwt.active-key-id=" + active + " não é uma chave de assinatura configurada "
+                    + "(chaves EC precisam da private-key)");
+        }
+        this.activeKeyId = active;
+        this.signingKey = signing.get(active);
+        this.verificationKeys = Map.copyOf(verification);
+        log.info("Tokens JWT assinados com a chave {} ({}); chaves de validação: {}",
+                active, signingKey.getAlgorithm(), verification.keySet());
+    }
+
+    private static void load(String kid, JwtProperties.SigningKey config, KeyStore keyStore,
+                             JwtProperties.KeyStoreSettings keyStoreSettings,
+                             Map<String, Key> verification, Map<String, Key> signing) throws GeneralSecurityException {
+        boolean secret = config.getSecret() != null;
+        boolean pem = config.getPrivateKey() != null || config.getPublicKey() != null;
+        boolean alias = config.getAlias() != null;
+        if ((secret ? 1 : 0) + (pem ? 1 : 0) + (alias ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("informe apenas um de secret, private-key/public-key ou alias");
+        }
+        if (secret) {
+            // Keys.hmacShaKeyFor recusa segredos com menos de 256 bits (WeakKeyException)
+            SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(config.getSecret().trim()));
+            verification.put(kid, key);
+            signing.put(kid, key);
+        } else if (pem) {
+            if (config.getPublicKey() == null) {
+                throw new IllegalArgumentException("public-key é obrigatória junto da private-key");
+            }
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            verification.put(kid, factory.generatePublic(new X509EncodedKeySpec(decodePem(config.getPublicKey()))));
+            if (config.getPrivateKey() != null) {
+                signing.put(kid, factory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(config.getPrivateKey()))));
+            }
+        } else {
+            char[] password = keyStoreSettings.getPassword() != null ? keyStoreSettings.getPassword().toCharArray() : null;
+            Key key = keyStore.getKey(config.getAlias(), password);
+            Certificate certificate = keyStore.getCertificate(config.getAlias());
+            if (key instanceof SecretKey secretKey) {
+                SecretKey hmac = Keys.hmacShaKeyFor(secretKey.getEncoded());
+                verification.put(kid, hmac);
+                signing.put(kid, hmac);
+            } else if (certificate != null) {
+                verification.put(kid, certificate.getPublicKey());
+                if (key instanceof PrivateKey privateKey) {
+                    signing.put(kid, privateKey);
+                }
+            } else {
+                throw new IllegalArgumentException("alias " + config.getAlias() + " não encontrado no keystore");
+            }
+        }
+    }
+
+    private static KeyStore loadKeyStore(JwtProperties.KeyStoreSettings settings) throws GeneralSecurityException, IOException {
+        if (settings.getLocation() == null) {
+            throw new IllegalArgumentException("jwt.key-store.location é obrigatório para chaves com alias");
+        }
+        KeyStore keyStore = KeyStore.getInstance(settings.getType());
+        try (InputStream in = new DefaultResourceLoader().getResource(settings.getLocation()).getInputStream()) {
+            keyStore.load(in, settings.getPassword() != null ? settings.getPassword().toCharArray() : null);
+        }
+        return keyStore;
+    }
+
+    // Aceita o PEM completo ou apenas o conteúdo em Base64
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * Kid gravado nos tokens emitidos.
+     */
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Chave privada (ou segredo) da chave ativa.
+     */
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * Escolhe a chave de validação pelo kid do header do token.
+     * Tokens sem kid, com kid desconhecido ou com algoritmo de outro tipo que o da chave
+     * (ex: HS256 com o kid de uma chave EC) são recusados.
+     */
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new MalformedJwtException("Token sem kid");
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Chave de assinatura desconhecida: " + kid);
+        }
+        String algorithm = header.getAlgorithm();
+        if (algorithm == null || algorithm.startsWith("HS") != (key instanceof SecretKey)) {
+            throw new SignatureException("Algoritmo " + algorithm + " não corresponde à chave " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Chaves públicas (EC) no formato JWK Set, para validação dos tokens por outros serviços.
+     * Segredos HS256 nunca são publicados.
+     */
+    public Map<String, Object> publicJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            if (key instanceof ECPublicKey ec) {
+                int bits = ec.getParams().getCurve().getField().getFieldSize();
+                String curve = bits == 256 ? "P-256" : bits == 384 ? "P-384" : "P-521";
+                String algorithm = bits == 256 ? "ES256" : bits == 384 ? "ES384" : "ES512";
+                int size = (bits + 7) / 8;
+                Map<String, Object> jwk = new LinkedHashMap<>();
+                jwk.put("kty", "EC");
+                jwk.put("kid", kid);
+                jwk.put("use", "sig");
+                jwk.put("alg", algorithm);
+                jwk.put("crv", curve);
+                jwk.put("x", coordinate(ec.getW().getAffineX(), size));
+                jwk.put("y", coordinate(ec.getW().getAffineY(), size));
+                keys.add(jwk);
+            }
+        });
+        return Map.of("keys", keys);
+    }
+
+    // Coordenada sem sinal, com o tamanho fixo da curva, em Base64 URL
+    private static String coordinate(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, fixed, size - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
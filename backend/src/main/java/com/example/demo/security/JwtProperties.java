@@ -0,0 +1,67 @@
+package com.example.demo.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chaves de assinatura dos tokens JWT (prefixo "jwt"), ver JwtKeyRing.
+ * <p>
+ * Cada chave é identificada por um kid, gravado no header do token. Apenas a chave ativa assina
+ * novos tokens; as demais continuam validando os tokens que assinaram, o que permite a rotação
+ * sem derrubar sessões: adicione a nova chave, torne-a ativa e remova a antiga depois que os
+ * tokens dela expirarem.
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    // Kid da chave que assina os novos tokens (opcional quando há uma única chave)
+    private String activeKeyId;
+
+    // Validade dos tokens emitidos
+    private Duration expiration = Duration.ofHours(24);
+
+    // Chaves pelo kid; sem nenhuma, é gerada uma chave aleatória a cada inicialização (apenas desenvolvimento)
+    private Map<String, SigningKey> keys = new LinkedHashMap<>();
+
+    // Keystore de onde vêm as chaves configuradas com alias
+    private KeyStoreSettings keyStore = new KeyStoreSettings();
+
+    /**
+     * Uma chave: segredo HS256, par EC (ES256) ou entrada de keystore.
+     */
+    @Data
+    public static class SigningKey {
+
+        // HS256: segredo em Base64, com pelo menos 32 bytes
+        private String secret;
+
+        // ES256: chave privada PKCS#8 em PEM (ausente nas chaves que apenas validam)
+        private String privateKey;
+
+        // ES256: chave pública X.509 em PEM
+        private String publicKey;
+
+        // Entrada do keystore (segredo, chave privada com certificado ou apenas certificado)
+        private String alias;
+    }
+
+    /**
+     * Keystore das chaves com alias.
+     */
+    @Data
+    public static class KeyStoreSettings {
+
+        // Local do arquivo (ex: file:/run/secrets/jwt.p12 ou classpath:jwt.p12)
+        private String location;
+
+        // Senha do keystore, usada também para as entradas
+        private String password;
+
+        private String type = "PKCS12";
+    }
+}
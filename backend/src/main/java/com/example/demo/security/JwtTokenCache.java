@@ -0,0 +1,105 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de tokens JWT já verificados.
+ * Clientes reenviam o mesmo token em todas as requisições; validar a assinatura HMAC
+ * e interpretar o JSON a cada chamada é desperdício. O cache guarda, por digest SHA-256
+ * do token (o token em si não fica em memória), o usuário (id e nome) e a expiração já validados.
+ * Cada entrada expira exatamente junto com o token, e o tamanho total é limitado.
+ * Acertos, faltas e remoções são publicados no Micrometer como "cache.*{cache=jwt.tokens}".
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    /**
+     * Resultado de uma verificação bem-sucedida.
+     * @param userId Id do usuário (claim "uid").
+     * @param username Subject do token.
+     * @param expiresAtMillis Instante de expiração (epoch em milissegundos).
+     */
+    public record VerifiedToken(Long userId, String username, long expiresAtMillis) {
+    }
+
+    public JwtTokenCache(JwtUtil jwtUtil,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remaining = value.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+    }
+
+    /**
+     * Retorna o usuário de um token, usando o cache quando possível.
+     * Tokens inválidos nunca entram no cache e continuam lançando a exceção do parser.
+     * @param token String do token JWT.
+     * @return O id e o nome do usuário.
+     * @throws io.jsonwebtoken.JwtException se o token for inválido, estiver expirado ou não tiver o id do usuário.
+     */
+    public VerifiedToken resolve(String token) {
+        String key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) {
+            Claims claims = jwtUtil.parseClaims(token);
+            Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+            if (userId == null) {
+                throw new MalformedJwtException("Token sem o id do usuário");
+            }
+            verified = new VerifiedToken(userId, claims.getSubject(), claims.getExpiration().getTime());
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
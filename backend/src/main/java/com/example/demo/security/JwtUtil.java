@@ -1,36 +1,54 @@
 package com.example.demo.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
-import java.security.Key;
 import java.util.Date;
 
 /**
  * Classe utilitária para gerenciamento de JSON Web Tokens (JWT).
  * Responsável pela geração, assinatura e extração de dados dos tokens de acesso.
+ * As chaves vêm do JwtKeyRing (jwt.keys): todas as instâncias com a mesma configuração
+ * aceitam os tokens umas das outras, e os tokens continuam válidos após reinícios.
  */
 @Component
 public class JwtUtil {
 
-    // Gera uma chave segura e aleatória para assinatura HS256 em tempo de execução
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    
-    // Tempo de expiração do token definido em milissegundos (86.400.000 ms = 24 horas)
-    private final int expirationTime = 86400000;
+    // Claim com o id do usuário (AppUser), usado para filtrar as tarefas por dono
+    public static final String USER_ID_CLAIM = "uid";
+
+    // Chave ativa (assinatura) e chaves de validação pelo kid
+    private final JwtKeyRing keyRing;
+
+    // Parser imutável e thread-safe, construído uma única vez e reutilizado em todas as validações;
+    // a chave de cada token é escolhida pelo kid do header
+    private final JwtParser parser;
+
+    // Tempo de expiração do token em milissegundos (jwt.expiration, padrão 24 horas)
+    private final long expirationTime;
+
+    public JwtUtil(JwtKeyRing keyRing, JwtProperties properties) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+        this.expirationTime = properties.getExpiration().toMillis();
+    }
 
     /**
      * Gera um novo token JWT para um usuário autenticado.
+     * @param userId Id do usuário, gravado na claim "uid".
      * @param username Nome do usuário (Subject) a ser encapsulado no token.
      * @return String contendo o JWT compacto e assinado.
      */
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId()) // Chave usada, para a validação e a rotação
                 .setSubject(username) // Define o dono do token
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date()) // Define a data de emissão
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime)) // Define o prazo de validade
-                .signWith(key) // Assina o token com a chave secreta HS256
+                .signWith(keyRing.signingKey()) // Assina com a chave ativa (HS256 ou ES256, conforme a chave)
                 .compact(); // Constrói a string final separada por pontos
     }
 
@@ -41,11 +59,17 @@ public class JwtUtil {
      * @return O nome do usuário extraído do corpo (Claims) do token.
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key) // Define a chave para validar a assinatura
-                .build()
-                .parseClaimsJws(token) // Faz o parse e valida a integridade do token
-                .getBody()
-                .getSubject(); // Recupera o campo 'sub' (subject)
+        return parseClaims(token).getSubject(); // Recupera o campo 'sub' (subject)
+    }
+
+    /**
+     * Valida a assinatura e a expiração do token e devolve todas as suas Claims.
+     * @param token String do token JWT.
+     * @return Claims do token (subject, expiração, etc.).
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token) // Faz o parse e valida a integridade do token
+                .getBody();
     }
 }
\ No newline at end of file
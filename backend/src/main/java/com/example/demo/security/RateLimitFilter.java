@@ -0,0 +1,60 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o UserRateLimiter às requisições autenticadas, logo após o JwtAuthenticationFilter e antes
+ * de qualquer acesso ao banco. Acima do limite responde 429 Too Many Requests com Retry-After;
+ * o header X-RateLimit-Remaining informa as requisições ainda disponíveis na rajada.
+ * Requisições sem usuário (login, health check) não são contadas.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final UserRateLimiter limiter;
+    private final Counter rejected;
+
+    public RateLimitFilter(UserRateLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.rejected = Counter.builder("rate.limit.rejected")
+                .description("Requisições recusadas pelo limite por usuário (429)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        UserRateLimiter.Decision decision = limiter.tryAcquire(authentication.getName());
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        if (!decision.allowed()) {
+            rejected.increment();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Limite de requisições excedido\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limite de requisições por usuário autenticado (prefixo "rate-limit"), ver UserRateLimiter.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    // Desligado, nenhuma requisição é contada
+    private boolean enabled = true;
+
+    // Tamanho do balde: rajada máxima de requisições seguidas de um usuário
+    private int capacity = 100;
+
+    // Reposição contínua do balde (requisições por segundo sustentadas)
+    private double refillPerSecond = 20;
+
+    // Usuários acompanhados ao mesmo tempo (os inativos há mais tempo saem primeiro)
+    private long maxUsers = 100000;
+}
@@ -1,11 +1,19 @@
 package com.example.demo.security;
 
+import com.example.demo.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -19,12 +27,37 @@ import java.util.Arrays;
  * Define as regras de acesso, política de sessão, filtros de autenticação e CORS.
  */
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenCache tokenCache;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
 
-    public SecurityConfig(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public SecurityConfig(JwtTokenCache tokenCache, MeterRegistry meterRegistry, RateLimitProperties rateLimitProperties) {
+        this.tokenCache = tokenCache;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
+    /**
+     * Hash das senhas: BCrypt para as novas, e reconhece os formatos antigos pelo prefixo ("{noop}", etc.).
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    /**
+     * Autenticação por usuário e senha do login, contra a tabela users.
+     * Senhas com hash antigo são regravadas em BCrypt após o login (UserDetailsPasswordService).
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(UserService userService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userService);
+        return new ProviderManager(provider);
     }
 
     /**
@@ -51,13 +84,22 @@ public class SecurityConfig {
                 // Libera os endpoints de autenticação (com e sem prefixo /api) para acesso público
                 .requestMatchers("/api/auth/**").permitAll() 
                 .requestMatchers("/auth/**").permitAll()
+
+                // Health check e coleta do Prometheus (restrinja o acesso externo pela rede/proxy)
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                 
                 // Qualquer outra requisição exige que o usuário esteja autenticado via JWT
                 .anyRequest().authenticated()
             )
             
             // Insere o filtro customizado de JWT antes do filtro de autenticação padrão do Spring
-            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(tokenCache, meterRegistry), UsernamePasswordAuthenticationFilter.class);
+
+        // Limite de requisições por usuário, logo após identificá-lo pelo token
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterAfter(new RateLimitFilter(new UserRateLimiter(rateLimitProperties), meterRegistry),
+                    JwtAuthenticationFilter.class);
+        }
 
         return http.build();
     }
@@ -82,10 +124,14 @@ public class SecurityConfig {
         ));
         
         // Cabeçalhos HTTP permitidos nas requisições
-        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization"));
+        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization",
+                "If-Match", "If-None-Match"));
         
         // Métodos HTTP permitidos para interação com a API
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+
+        // Headers de resposta que o navegador pode expor ao JavaScript (cursor de paginação, versão e limite de requisições)
+        config.setExposedHeaders(Arrays.asList("X-Next-Cursor", "ETag", "Retry-After", RateLimitFilter.REMAINING_HEADER));
         
         // Aplica essa configuração para todos os caminhos (endpoints) do servidor
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,76 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket por usuário: cada requisição consome uma ficha, e o balde é reposto continuamente
+ * a rate-limit.refill-per-second até rate-limit.capacity. Um usuário pode fazer rajadas curtas,
+ * mas não sustentar mais que a taxa de reposição, o que protege o banco de um cliente barulhento
+ * sem afetar os demais.
+ * <p>
+ * Os baldes ficam em memória (Caffeine, limitado a rate-limit.max-users) e saem após ficarem
+ * ociosos pelo tempo de encher: recriá-lo cheio é equivalente. O limite é por instância; atrás
+ * de um balanceador, a taxa efetiva de um usuário é a soma das instâncias que o atendem.
+ */
+public class UserRateLimiter {
+
+    /**
+     * Resultado de uma tentativa.
+     * @param allowed true se a requisição pode seguir.
+     * @param remaining Fichas restantes após a tentativa.
+     * @param retryAfterNanos Espera até a próxima ficha (0 quando permitida).
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+    }
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    public UserRateLimiter(RateLimitProperties properties) {
+        if (properties.getCapacity() < 1 || properties.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("rate-limit.capacity e rate-limit.refill-per-second devem ser positivos");
+        }
+        this.capacity = properties.getCapacity();
+        this.tokensPerNano = properties.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano)))
+                .build();
+    }
+
+    /**
+     * Consome uma ficha do balde do usuário.
+     * @param user Nome do usuário autenticado.
+     */
+    public Decision tryAcquire(String user) {
+        return tryAcquire(user, System.nanoTime());
+    }
+
+    Decision tryAcquire(String user, long now) {
+        Bucket bucket = buckets.get(user, key -> new Bucket(capacity, now));
+        synchronized (bucket) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return new Decision(true, (long) bucket.tokens, 0);
+            }
+            return new Decision(false, 0, (long) Math.ceil((1 - bucket.tokens) / tokensPerNano));
+        }
+    }
+}
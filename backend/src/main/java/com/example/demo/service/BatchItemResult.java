@@ -0,0 +1,19 @@
+package com.example.demo.service;
+
+/**
+ * Resultado individual de um item em uma operação em lote.
+ * @param index Posição do item na requisição original.
+ * @param id Id da tarefa afetada (null se o item falhou antes de receber id).
+ * @param success Indica se o item foi aplicado.
+ * @param error Motivo da falha, quando success é false.
+ */
+public record BatchItemResult(int index, Long id, boolean success, String error) {
+
+    public static BatchItemResult ok(int index, Long id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        return new BatchItemResult(index, id, false, error);
+    }
+}
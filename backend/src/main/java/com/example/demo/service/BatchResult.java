@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+/**
+ * Resumo de uma operação em lote, com o resultado de cada item na ordem recebida.
+ * @param succeeded Quantidade de itens aplicados.
+ * @param failed Quantidade de itens rejeitados.
+ * @param items Resultado por item.
+ */
+public record BatchResult(int succeeded, int failed, List<BatchItemResult> items) {
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int ok = (int) items.stream().filter(BatchItemResult::success).count();
+        return new BatchResult(ok, items.size() - ok, items);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor da sincronização incremental: posição (change_seq, id) da última alteração entregue.
+ * O id desempata as tarefas gravadas com o mesmo número (itens de um mesmo bloco de lote).
+ * Para o cliente o cursor é um token opaco (Base64 URL-safe), como o TaskCursor.
+ * @param changeSeq Número da última alteração entregue.
+ * @param id Id da última tarefa entregue.
+ */
+public record ChangeCursor(long changeSeq, long id) {
+
+    // Antes de qualquer alteração (linhas antigas têm change_seq = 0)
+    public static final ChangeCursor START = new ChangeCursor(-1, 0);
+
+    private static final String SEPARATOR = "|";
+
+    public static ChangeCursor of(Task task) {
+        return new ChangeCursor(task.getChangeSeq(), task.getId());
+    }
+
+    /**
+     * Converte o cursor em um token opaco para ser devolvido ao cliente.
+     */
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Interpreta um token recebido do cliente.
+     * @throws IllegalArgumentException se o token estiver malformado.
+     */
+    public static ChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            return new ChangeCursor(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de sincronização inválido");
+        }
+    }
+}
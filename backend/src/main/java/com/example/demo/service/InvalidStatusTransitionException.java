@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskStatus;
+
+/**
+ * Lançada quando uma alteração de status não é permitida pelo fluxo da tarefa
+ * (ver TaskStatus.canTransitionTo).
+ */
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(Long id, TaskStatus from, TaskStatus to) {
+        super("A tarefa " + id + " não pode passar de " + from + " para " + to);
+    }
+}
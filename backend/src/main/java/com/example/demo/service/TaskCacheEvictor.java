@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+
+/**
+ * Invalidação do cache de tarefas a partir dos eventos de escrita (TaskChangedEvent).
+ * Remove exatamente as tarefas afetadas (chaveadas por dono e id, ver key()) e descarta as
+ * listagens em cache, pois qualquer alteração pode mudar o conteúdo de uma página.
+ * A remoção acontece após o commit, para que uma leitura concorrente não volte a
+ * guardar no cache o valor anterior à escrita.
+ */
+@Component
+public class TaskCacheEvictor {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Invalida o cache após o commit de cada escrita em tarefas
+     * (ou imediatamente, se o evento foi publicado fora de uma transação).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.ownerId(), event.ids());
+    }
+
+    /**
+     * Remove as tarefas informadas do cache e limpa as listagens.
+     * @param ownerId Dono das tarefas.
+     * @param ids Ids alterados ou removidos.
+     */
+    public void evict(Long ownerId, Collection<Long> ids) {
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        if (tasks != null) {
+            ids.forEach(id -> tasks.evict(key(ownerId, id)));
+        }
+        evictLists();
+    }
+
+    /**
+     * Chave de uma tarefa no cache CacheConfig.TASKS (a mesma do @Cacheable de TaskService.getTask).
+     */
+    public static String key(Long ownerId, Long id) {
+        return ownerId + ":" + id;
+    }
+
+    /**
+     * Limpa todas as listagens em cache.
+     */
+    public void evictLists() {
+        Cache lists = cacheManager.getCache(CacheConfig.TASK_LISTS);
+        if (lists != null) {
+            lists.clear();
+        }
+    }
+}
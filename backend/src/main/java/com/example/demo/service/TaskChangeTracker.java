@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskChangeCounter;
+import com.example.demo.repository.TaskChangeCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Mantém o contador de alterações da tabela de tarefas, base da ETag e do Last-Modified da coleção
+ * e da sequência de mudanças usada na sincronização incremental (coluna change_seq).
+ * O incremento acontece dentro da transação da escrita, e o lock da linha do contador fica
+ * retido até o commit: as escritas recebem números na mesma ordem em que são confirmadas,
+ * então um cliente que já viu a mudança N nunca deixa de ver uma mudança menor que N.
+ * Como contador e tarefas ficam visíveis no mesmo commit, a ETag também não se adianta aos dados.
+ */
+@Component
+public class TaskChangeTracker {
+
+    /**
+     * Estado atual do contador.
+     * @param version Número de alterações confirmadas.
+     * @param lastModifiedMillis Momento da última alteração (epoch em milissegundos).
+     */
+    public record ChangeState(long version, long lastModifiedMillis) {
+    }
+
+    @Autowired
+    private TaskChangeCounterRepository repository;
+
+    /**
+     * Lê o estado atual do contador (consulta por chave primária).
+     */
+    @Transactional(readOnly = true)
+    public ChangeState current() {
+        return repository.findById(TaskChangeCounter.SINGLETON_ID)
+                .map(c -> new ChangeState(c.getVersion(), toMillis(c.getUpdatedAt())))
+                .orElse(new ChangeState(0, 0));
+    }
+
+    /**
+     * Reserva o próximo número da sequência de mudanças para a transação corrente.
+     * Deve ser chamado por toda escrita em tarefas, o mais perto possível do commit,
+     * pois a partir daqui as demais escritas aguardam o fim desta transação: escritas em lote
+     * gravam as linhas (flush) antes e depois aplicam o número com TaskRepository.assignChangeSeq().
+     * @return Número a gravar em change_seq nas tarefas alteradas.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextChangeSeq() {
+        if (repository.increment(TaskChangeCounter.SINGLETON_ID, LocalDateTime.now()) == 0) {
+            // Escrita antes de ensureCounter() concluir
+            TaskChangeCounter counter = new TaskChangeCounter();
+            counter.setId(TaskChangeCounter.SINGLETON_ID);
+            counter.setVersion(1L);
+            counter.setUpdatedAt(LocalDateTime.now());
+            repository.saveAndFlush(counter);
+            return 1;
+        }
+        return repository.currentVersion(TaskChangeCounter.SINGLETON_ID);
+    }
+
+    /**
+     * Garante a existência da linha do contador na inicialização.
+     * Várias instâncias podem tentar criá-la ao mesmo tempo; a chave primária resolve a corrida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCounter() {
+        if (repository.existsById(TaskChangeCounter.SINGLETON_ID)) {
+            return;
+        }
+        TaskChangeCounter counter = new TaskChangeCounter();
+        counter.setId(TaskChangeCounter.SINGLETON_ID);
+        counter.setVersion(0L);
+        counter.setUpdatedAt(LocalDateTime.now());
+        try {
+            repository.save(counter);
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a linha primeiro
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
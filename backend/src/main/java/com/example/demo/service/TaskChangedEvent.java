@@ -0,0 +1,21 @@
+package com.example.demo.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evento publicado pelo TaskService a cada escrita em tarefas.
+ * Quando publicado dentro de uma transação, os ouvintes transacionais
+ * só o recebem após o commit.
+ * @param type Tipo da alteração.
+ * @param ownerId Dono das tarefas afetadas (um evento nunca mistura usuários).
+ * @param ids Ids das tarefas afetadas.
+ */
+public record TaskChangedEvent(Type type, Long ownerId, List<Long> ids) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static TaskChangedEvent of(Type type, Long ownerId, Long id) {
+        return new TaskChangedEvent(type, ownerId, Collections.singletonList(id));
+    }
+}
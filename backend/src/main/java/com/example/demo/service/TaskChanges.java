@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+
+import java.util.List;
+
+/**
+ * Resposta da sincronização incremental.
+ * @param upserted Tarefas criadas ou alteradas desde o cursor (estado atual completo).
+ * @param deleted Ids das tarefas removidas desde o cursor.
+ * @param nextCursor Cursor a enviar na próxima chamada (since).
+ * @param hasMore true quando o limite foi atingido e há mais alterações a buscar imediatamente.
+ */
+public record TaskChanges(List<Task> upserted, List<Long> deleted, String nextCursor, boolean hasMore) {
+}
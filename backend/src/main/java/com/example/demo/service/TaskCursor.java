@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor de paginação keyset.
+ * Guarda os valores da chave de ordenação da última tarefa entregue, de modo que a
+ * próxima página seja buscada com "WHERE chave > cursor" em vez de OFFSET,
+ * mantendo o custo constante independentemente da profundidade da paginação.
+ * Para o cliente o cursor é um token opaco (Base64 URL-safe).
+ * @param createdAt Data de criação da última tarefa (null quando a ordenação é por id).
+ * @param id Id da última tarefa.
+ */
+public record TaskCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Constrói o cursor a partir da última tarefa de uma página.
+     */
+    public static TaskCursor of(Task task, boolean byCreatedAt) {
+        return new TaskCursor(byCreatedAt ? task.getCreatedAt() : null, task.getId());
+    }
+
+    /**
+     * Converte o cursor em um token opaco para ser devolvido ao cliente.
+     */
+    public String encode() {
+        String raw = createdAt == null ? String.valueOf(id) : createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Interpreta um token recebido do cliente.
+     * @param token Token gerado anteriormente por encode().
+     * @return O cursor correspondente, ou null se o token for vazio.
+     * @throws IllegalArgumentException se o token estiver malformado.
+     */
+    public static TaskCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) {
+                return new TaskCursor(null, Long.parseLong(raw));
+            }
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.suggestion.SuggestionConfig;
+import com.example.demo.suggestion.SuggestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Enriquece, em segundo plano, a descrição de tarefas criadas sem descrição.
+ * A tarefa é persistida imediatamente com o texto de fallback; quando a API externa
+ * responde, a descrição é substituída, desde que o usuário não a tenha alterado nesse meio tempo.
+ */
+@Component
+public class TaskDescriptionEnricher {
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private TaskChangeTracker changeTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Busca a sugestão externa e atualiza a descrição da tarefa, fora da thread da requisição.
+     * Deve ser chamado após o commit da criação (o UPDATE precisa enxergar a tarefa).
+     * @param ownerId Dono da tarefa.
+     * @param taskId Id da tarefa recém-criada.
+     * @param placeholder Descrição provisória gravada no momento da criação.
+     */
+    @Async(SuggestionConfig.ENRICHMENT_EXECUTOR)
+    public void enrich(Long ownerId, Long taskId, String placeholder) {
+        String suggestion = suggestionService.getSuggestion();
+        if (SuggestionService.FALLBACK.equals(suggestion)) {
+            return;
+        }
+        // O evento invalida o cache depois do commit do UPDATE
+        transactionTemplate.executeWithoutResult(status -> {
+            long changeSeq = changeTracker.nextChangeSeq();
+            if (repository.replaceDescription(taskId, placeholder, TaskService.SUGGESTION_PREFIX + suggestion,
+                    changeSeq, LocalDateTime.now()) > 0) {
+                eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, ownerId, taskId));
+            } else {
+                // Nada mudou: não consome um número da sequência
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
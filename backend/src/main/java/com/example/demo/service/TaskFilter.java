@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Critérios de filtragem da listagem de tarefas.
+ * Qualquer componente nulo significa que o respectivo filtro não é aplicado.
+ * @param status Status exato (ex: PENDENTE).
+ * @param dueFrom Prazo mínimo (inclusive).
+ * @param dueTo Prazo máximo (inclusive).
+ */
+public record TaskFilter(TaskStatus status, LocalDate dueFrom, LocalDate dueTo) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+/**
+ * Lançada quando uma operação referencia uma tarefa inexistente.
+ */
+public class TaskNotFoundException extends RuntimeException {
+
+    public TaskNotFoundException(Long id) {
+        super("Tarefa não encontrada");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Página de tarefas obtida via paginação por cursor (keyset).
+ * Serializable para poder ser guardada em caches compartilhados (ex: Redis).
+ * @param items Tarefas da página atual, já na ordem solicitada.
+ * @param nextCursor Cursor opaco para a próxima página, ou null quando não há mais resultados.
+ */
+public record TaskPage(List<Task> items, String nextCursor) implements Serializable {
+}
@@ -1,92 +1,583 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
 import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatsKey;
+import com.example.demo.repository.TaskSpecifications;
+import com.example.demo.search.SearchHighlighter;
+import com.example.demo.search.TaskSearchEngine;
+import com.example.demo.search.TaskSearchPage;
+import com.example.demo.suggestion.SuggestionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Classe de serviço responsável pela lógica de negócio das tarefas.
  * Centraliza as operações de manipulação de dados e integrações externas.
+ * Todas as operações recebem o dono (id do usuário autenticado) e só leem ou alteram as tarefas dele;
+ * tarefas de outros usuários se comportam como inexistentes.
+ * Cada método público é uma observação "tasks.service" (timer com as tags class e method, e span no trace).
  */
 @Service
+@Observed(name = "tasks.service")
 public class TaskService {
 
+    // Limite máximo de itens por página, protegendo a memória do servidor
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Limite de resultados por página da busca textual (cada um recebe destaque)
+    public static final int MAX_SEARCH_SIZE = 100;
+
+    // Prefixo das descrições preenchidas automaticamente
+    public static final String SUGGESTION_PREFIX = "Sugestão externa: ";
+
     @Autowired
     private TaskRepository repository;
 
+    @Autowired
+    private TaskChangeTracker changeTracker;
+
+    @Autowired
+    private TaskStatsTracker statsTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private TaskDescriptionEnricher descriptionEnricher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskSearchEngine searchEngine;
+
+    // Itens por transação nas operações em lote (múltiplo do hibernate.jdbc.batch_size)
+    @Value("${tasks.batch.chunk-size:1000}")
+    private int batchChunkSize = 1000;
+
+    // Limite de itens por requisição de lote
+    @Value("${tasks.batch.max-items:100000}")
+    private int batchMaxItems = 100000;
+
     /**
-     * Consome uma API externa (JSONPlaceholder) para obter uma sugestão de conteúdo.
-     * Demonstrando capacidade de integração entre sistemas.
-     * @return String contendo a sugestão ou um fallback em caso de erro.
+     * Recupera uma tarefa pelo id, servida pelo cache quando disponível.
+     * @param ownerId Dono da tarefa.
+     * @param id Identificador da tarefa.
+     * @return Task encontrada.
+     * @throws TaskNotFoundException se a tarefa não existir (ou for de outro usuário).
      */
-    public String getExternalSuggestion() {
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String url = "https://jsonplaceholder.typicode.com/posts/1";
-            
-            // Realiza a chamada GET e mapeia a resposta para um Map
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return (String) response.get("body");
-        } catch (Exception e) {
-            // Mecanismo de Fallback: Caso a API externa esteja offline, o sistema não trava
-            return "Realizar tarefas pendentes com foco."; 
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "T(com.example.demo.service.TaskCacheEvictor).key(#ownerId, #id)")
+    @Transactional(readOnly = true)
+    public Task getTask(Long ownerId, Long id) {
+        return repository.findByIdAndOwnerId(id, ownerId).orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    /**
+     * Lista tarefas com filtros e paginação por cursor (keyset).
+     * Busca limit + 1 linhas para saber se existe uma próxima página sem executar COUNT.
+     * A primeira página das listagens filtradas apenas por status (as consultas mais
+     * frequentes dos dashboards) é mantida em cache até a próxima escrita.
+     * @param ownerId Dono das tarefas.
+     * @param filter Filtros de status e intervalo de prazo.
+     * @param sort Campo de ordenação: "id" ou "createdAt".
+     * @param direction Direção da ordenação: "asc" ou "desc".
+     * @param cursor Cursor opaco recebido na página anterior (opcional).
+     * @param limit Quantidade máxima de itens da página (1 a MAX_PAGE_SIZE).
+     * @return TaskPage com os itens e o cursor da próxima página.
+     */
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS,
+            condition = "#cursor == null && #filter.dueFrom() == null && #filter.dueTo() == null",
+            key = "#ownerId + '|' + #filter.status() + '|' + #sort + '|' + #direction + '|' + #limit")
+    @Transactional(readOnly = true)
+    public TaskPage listTasks(Long ownerId, TaskFilter filter, String sort, String direction, String cursor, int limit) {
+        boolean byCreatedAt = parseSortField(sort);
+        boolean ascending = parseDirection(direction);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskCursor after = TaskCursor.decode(cursor);
+
+        Specification<Task> spec = TaskSpecifications.ownedBy(ownerId)
+                .and(TaskSpecifications.hasStatus(filter.status()))
+                .and(TaskSpecifications.dueFrom(filter.dueFrom()))
+                .and(TaskSpecifications.dueTo(filter.dueTo()));
+        if (after != null) {
+            spec = spec.and(byCreatedAt
+                    ? TaskSpecifications.afterCreatedAt(after.createdAt(), after.id(), ascending)
+                    : TaskSpecifications.afterId(after.id(), ascending));
         }
+
+        Sort.Direction dir = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort order = byCreatedAt ? Sort.by(dir, "createdAt", "id") : Sort.by(dir, "id");
+
+        List<Task> rows = repository.findBy(spec, q -> q.sortBy(order).limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new TaskPage(List.copyOf(rows), null);
+        }
+        List<Task> items = List.copyOf(rows.subList(0, pageSize));
+        return new TaskPage(items, TaskCursor.of(items.get(pageSize - 1), byCreatedAt).encode());
     }
 
     /**
-     * Recupera todas as tarefas do banco de dados através do repositório.
-     * @return List de Task.
+     * Exporta as tarefas filtradas, entregando uma a uma ao consumidor.
+     * As linhas são lidas por um cursor JDBC e desanexadas da sessão logo após o uso,
+     * de modo que o consumo de memória não cresce com o tamanho da tabela.
+     * @param ownerId Dono das tarefas.
+     * @param filter Filtros de status e intervalo de prazo.
+     * @param consumer Destino de cada tarefa (ex: escrita na resposta HTTP).
      */
-    public List<Task> getAllTasks() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public void exportTasks(Long ownerId, TaskFilter filter, Consumer<Task> consumer) {
+        try (Stream<Task> tasks = repository.streamByFilter(ownerId, filter.status(), filter.dueFrom(), filter.dueTo())) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Busca textual no título e na descrição, com resultados ordenados por relevância
+     * e trechos destacados. Palavras parciais casam por prefixo ("taref" encontra "tarefa").
+     * @param ownerId Dono das tarefas.
+     * @param query Texto digitado pelo usuário.
+     * @param page Número da página (a partir de 0).
+     * @param size Tamanho da página (1 a 100).
+     * @return TaskSearchPage com os resultados da página.
+     * @throws IllegalArgumentException se a busca não tiver nenhuma palavra.
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(Long ownerId, String query, int page, int size) {
+        List<String> terms = query == null ? List.of() : SearchHighlighter.terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma palavra para a busca");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Página inválida: " + page);
+        }
+        return searchEngine.search(ownerId, terms, page, Math.max(1, Math.min(size, MAX_SEARCH_SIZE)));
+    }
+
+    private boolean parseSortField(String sort) {
+        if (sort == null || "id".equals(sort)) {
+            return false;
+        }
+        if ("createdAt".equals(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Campo de ordenação inválido: " + sort);
+    }
+
+    private boolean parseDirection(String direction) {
+        if (direction == null || "asc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Direção de ordenação inválida: " + direction);
     }
 
     /**
      * Regra de Negócio: Salva uma nova tarefa. 
      * Caso a descrição esteja vazia, utiliza a integração externa para preenchê-la.
+     * A chamada externa nunca bloqueia a requisição: usa a sugestão em cache, se houver;
+     * caso contrário grava o fallback e agenda o enriquecimento assíncrono da descrição,
+     * que só começa após o commit.
+     * @param ownerId Dono da nova tarefa.
      * @param task Objeto vindo do controller.
      * @return Task persistida com os dados processados.
      */
-    public Task saveTask(Task task) {
+    @Transactional
+    public Task saveTask(Long ownerId, Task task) {
+        // Um id vindo do cliente faria o save() sobrescrever a tarefa existente
+        task.setId(null);
+        task.setOwnerId(ownerId);
         if (task.getDescription() == null || task.getDescription().trim().isEmpty()) {
-            task.setDescription("Sugestão externa: " + getExternalSuggestion());
+            String cached = suggestionService.getCachedSuggestion();
+            task.setDescription(SUGGESTION_PREFIX + (cached != null ? cached : SuggestionService.FALLBACK));
+            Task saved = insert(task);
+            if (cached == null) {
+                afterCommit(() -> descriptionEnricher.enrich(ownerId, saved.getId(), saved.getDescription()));
+            }
+            return saved;
         }
-        return repository.save(task);
+        return insert(task);
+    }
+
+    private Task insert(Task task) {
+        task.setChangeSeq(changeTracker.nextChangeSeq());
+        Task saved = repository.save(task);
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.add(saved);
+        statsTracker.apply(stats);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, saved.getOwnerId(), saved.getId()));
+        return saved;
     }
 
     /**
      * Atualiza os dados de uma tarefa existente.
      * Valida a existência do ID antes de proceder com a alteração.
+     * Quando expectedVersion é informada (If-Match), a escrita só ocorre se a tarefa ainda
+     * estiver nessa versão; a verificação é repetida pelo Hibernate no UPDATE (WHERE version = ?),
+     * fechando a janela entre a leitura e a gravação.
+     * @param ownerId Dono da tarefa.
      * @param id Identificador da tarefa.
      * @param taskDetails Novos dados da tarefa.
+     * @param expectedVersion Versão esperada, ou null para sobrescrever incondicionalmente.
      * @return Task atualizada.
+     * @throws TaskVersionConflictException se a versão atual for diferente da esperada.
+     * @throws InvalidStatusTransitionException se o novo status não for permitido a partir do atual.
      */
-    public Task updateTask(Long id, Task taskDetails) {
-        Task task = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+    @Transactional
+    public Task updateTask(Long ownerId, Long id, Task taskDetails, Long expectedVersion) {
+        Task task = repository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersion != null) {
+            if (!expectedVersion.equals(task.getVersion())) {
+                throw new TaskVersionConflictException(id);
+            }
+        }
+        // Status omitido mantém o atual
+        TaskStatus newStatus = taskDetails.getStatus() != null ? taskDetails.getStatus() : task.getStatus();
+        if (!task.getStatus().canTransitionTo(newStatus)) {
+            throw new InvalidStatusTransitionException(id, task.getStatus(), newStatus);
+        }
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.remove(task);
 
         // Atualização seletiva dos campos
         task.setTitle(taskDetails.getTitle());
         task.setDescription(taskDetails.getDescription());
-        task.setStatus(taskDetails.getStatus());
+        task.setStatus(newStatus);
         
         // Mantém a flexibilidade para atualizar a data de vencimento se presente
         if (taskDetails.getDueDate() != null) {
             task.setDueDate(taskDetails.getDueDate());
         }
 
-        return repository.save(task);
+        task.setChangeSeq(changeTracker.nextChangeSeq());
+        try {
+            // O flush antecipa o UPDATE (e a checagem de versão) para dentro do try
+            Task saved = repository.saveAndFlush(task);
+            stats.add(saved);
+            statsTracker.apply(stats);
+            eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, ownerId, id));
+            return saved;
+        } catch (OptimisticLockingFailureException e) {
+            throw new TaskVersionConflictException(id);
+        }
+    }
+
+    /**
+     * Cria várias tarefas em lote.
+     * Os itens são gravados em transações de batchChunkSize itens, com inserts agrupados
+     * pelo JDBC (hibernate.jdbc.batch_size). Itens inválidos são rejeitados individualmente;
+     * se um bloco falhar no banco, apenas os itens daquele bloco são marcados como falha.
+     * Descrições vazias recebem a sugestão em cache (ou o fallback), sem chamadas externas.
+     * @param ownerId Dono das novas tarefas.
+     * @param tasks Tarefas a criar.
+     * @return Resultado por item, na ordem recebida.
+     */
+    public BatchResult createTasks(Long ownerId, List<Task> tasks) {
+        checkBatchSize(tasks);
+        String cached = suggestionService.getCachedSuggestion();
+        String defaultDescription = SUGGESTION_PREFIX + (cached != null ? cached : SuggestionService.FALLBACK);
+
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        for (int start = 0; start < tasks.size(); start += batchChunkSize) {
+            int end = Math.min(start + batchChunkSize, tasks.size());
+            List<Integer> accepted = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                Task task = tasks.get(i);
+                if (task == null || task.getTitle() == null || task.getTitle().isBlank()) {
+                    results[i] = BatchItemResult.failed(i, null, "Título é obrigatório");
+                    continue;
+                }
+                task.setId(null);
+                task.setOwnerId(ownerId);
+                if (task.getDescription() == null || task.getDescription().trim().isEmpty()) {
+                    task.setDescription(defaultDescription);
+                }
+                accepted.add(i);
+            }
+            runChunk(accepted, results, i -> tasks.get(i).getId(), true, stats -> {
+                for (int i : accepted) {
+                    entityManager.persist(tasks.get(i));
+                    stats.add(tasks.get(i));
+                }
+                List<Long> created = accepted.stream().map(i -> tasks.get(i).getId()).toList();
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, ownerId, created));
+                return created;
+            });
+        }
+        return BatchResult.of(List.of(results));
+    }
+
+    /**
+     * Atualiza parcialmente várias tarefas em lote: apenas os campos não nulos são aplicados.
+     * Cada bloco carrega as tarefas com uma única consulta (IN) e grava os updates agrupados.
+     * @param ownerId Dono das tarefas.
+     * @param tasks Tarefas com id e os campos a alterar.
+     * @return Resultado por item, na ordem recebida.
+     */
+    public BatchResult updateTasks(Long ownerId, List<Task> tasks) {
+        checkBatchSize(tasks);
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        for (int start = 0; start < tasks.size(); start += batchChunkSize) {
+            int end = Math.min(start + batchChunkSize, tasks.size());
+            List<Integer> accepted = new ArrayList<>();
+            Set<Long> ids = new HashSet<>();
+            for (int i = start; i < end; i++) {
+                Task patch = tasks.get(i);
+                if (patch == null || patch.getId() == null) {
+                    results[i] = BatchItemResult.failed(i, null, "Id é obrigatório");
+                } else if (patch.getTitle() != null && patch.getTitle().isBlank()) {
+                    results[i] = BatchItemResult.failed(i, patch.getId(), "Título não pode ser vazio");
+                } else if (!ids.add(patch.getId())) {
+                    results[i] = BatchItemResult.failed(i, patch.getId(), "Id duplicado no lote");
+                } else {
+                    accepted.add(i);
+                }
+            }
+            runChunk(accepted, results, i -> tasks.get(i).getId(), false, stats -> {
+                Map<Long, Task> existing = repository.findByOwnerIdAndIdIn(ownerId, ids).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+                accepted.removeIf(i -> {
+                    Task patch = tasks.get(i);
+                    Task task = existing.get(patch.getId());
+                    if (task == null) {
+                        results[i] = BatchItemResult.failed(i, patch.getId(), "Tarefa não encontrada");
+                        return true;
+                    }
+                    if (patch.getStatus() != null && !task.getStatus().canTransitionTo(patch.getStatus())) {
+                        results[i] = BatchItemResult.failed(i, patch.getId(), new InvalidStatusTransitionException(
+                                patch.getId(), task.getStatus(), patch.getStatus()).getMessage());
+                        return true;
+                    }
+                    stats.remove(task);
+                    applyPatch(task, patch);
+                    stats.add(task);
+                    return false;
+                });
+                List<Long> updated = accepted.stream().map(i -> tasks.get(i).getId()).toList();
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, ownerId, updated));
+                return updated;
+            });
+        }
+        return BatchResult.of(List.of(results));
+    }
+
+    /**
+     * Remove várias tarefas em lote, com um único UPDATE ... WHERE id IN (...) por bloco
+     * que as transforma em tombstones (ver Task.deleted).
+     * @param ownerId Dono das tarefas.
+     * @param ids Ids das tarefas a remover.
+     * @return Resultado por item, na ordem recebida (ids inexistentes são reportados como falha).
+     */
+    public BatchResult deleteTasks(Long ownerId, List<Long> ids) {
+        checkBatchSize(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        for (int start = 0; start < ids.size(); start += batchChunkSize) {
+            int end = Math.min(start + batchChunkSize, ids.size());
+            List<Integer> accepted = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                if (ids.get(i) == null) {
+                    results[i] = BatchItemResult.failed(i, null, "Id é obrigatório");
+                } else {
+                    accepted.add(i);
+                }
+            }
+            runChunk(accepted, results, ids::get, false, stats -> {
+                Set<Long> existing = new HashSet<>();
+                for (TaskStatsKey key : repository.findStatsKeys(ownerId, accepted.stream().map(ids::get).toList())) {
+                    existing.add(key.id());
+                    stats.add(ownerId, key.status(), key.dueDate(), -1);
+                }
+                if (!existing.isEmpty()) {
+                    repository.markDeleted(ownerId, existing, LocalDateTime.now());
+                }
+                accepted.removeIf(i -> {
+                    if (!existing.remove(ids.get(i))) {
+                        results[i] = BatchItemResult.failed(i, ids.get(i), "Tarefa não encontrada");
+                        return true;
+                    }
+                    return false;
+                });
+                List<Long> deleted = accepted.stream().map(ids::get).toList();
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, ownerId, deleted));
+                return deleted;
+            });
+        }
+        return BatchResult.of(List.of(results));
+    }
+
+    /**
+     * Executa um bloco de um lote em transação própria, com um único número da
+     * sequência de mudanças para todos os itens do bloco. Ao final, sincroniza e limpa o contexto de persistência para que a memória
+     * não cresça com o tamanho do lote. Em caso de erro, todos os itens do bloco falham.
+     * O número só é reservado depois que as linhas do bloco foram gravadas (flush) e é aplicado com um
+     * único UPDATE: o lock do contador fica retido apenas desse UPDATE até o commit.
+     * @param assignsIds true quando o bloco gera os ids (create): em caso de rollback, eles são descartados.
+     * @param work Grava o bloco, registra a variação das estatísticas e devolve os ids alterados.
+     */
+    private void runChunk(List<Integer> accepted, BatchItemResult[] results,
+                          Function<Integer, Long> idOf, boolean assignsIds, Function<TaskStatsDelta, List<Long>> work) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TaskStatsDelta stats = new TaskStatsDelta();
+                List<Long> changed = work.apply(stats);
+                entityManager.flush();
+                entityManager.clear();
+                if (!changed.isEmpty()) {
+                    repository.assignChangeSeq(changed, changeTracker.nextChangeSeq());
+                    statsTracker.apply(stats);
+                }
+            });
+            for (int i : accepted) {
+                results[i] = BatchItemResult.ok(i, idOf.apply(i));
+            }
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            for (int i : accepted) {
+                results[i] = BatchItemResult.failed(i, assignsIds ? null : idOf.apply(i),
+                        "Falha ao gravar bloco: " + e.getMessage());
+            }
+        }
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("O lote não pode ser vazio");
+        }
+        if (items.size() > batchMaxItems) {
+            throw new IllegalArgumentException("O lote excede o limite de " + batchMaxItems + " itens");
+        }
+    }
+
+    private static void applyPatch(Task task, Task patch) {
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate());
+        }
     }
 
     /**
-     * Remove o registro da tarefa do banco de dados por ID.
+     * Remove a tarefa por ID. A linha vira um tombstone (deleted = true), que some das
+     * consultas mas continua visível à sincronização incremental. Ids inexistentes são ignorados.
+     * @param ownerId Dono da tarefa.
      * @param id Identificador da tarefa.
      */
-    public void deleteTask(Long id) {
-        repository.deleteById(id);
+    @Transactional
+    public void deleteTask(Long ownerId, Long id) {
+        repository.findByIdAndOwnerId(id, ownerId).ifPresent(task -> {
+            task.setDeleted(true);
+            task.setChangeSeq(changeTracker.nextChangeSeq());
+            TaskStatsDelta stats = new TaskStatsDelta();
+            stats.remove(task);
+            statsTracker.apply(stats);
+            eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.DELETED, ownerId, id));
+        });
+    }
+
+    /**
+     * Estatísticas agregadas (por status, atrasadas e vencendo na semana), calculadas a partir
+     * do resumo mantido pelas escritas, sem percorrer as tarefas.
+     * @param ownerId Dono das tarefas.
+     * @return TaskStats em relação à data atual.
+     */
+    public TaskStats getStats(Long ownerId) {
+        return statsTracker.current(ownerId, LocalDate.now());
+    }
+
+    /**
+     * Sincronização incremental: devolve as alterações posteriores ao cursor, na ordem da
+     * sequência de mudanças. Tarefas criadas ou alteradas vêm completas; as removidas, apenas o id.
+     * Sem cursor, devolve o estado atual (tombstones são omitidos).
+     * @param ownerId Dono das tarefas.
+     * @param since Cursor devolvido pela chamada anterior (opcional).
+     * @param limit Quantidade máxima de alterações (1 a MAX_PAGE_SIZE).
+     * @return TaskChanges com as alterações e o cursor para a próxima chamada.
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges getChanges(Long ownerId, String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean initial = since == null || since.isBlank();
+        ChangeCursor after = initial ? ChangeCursor.START : ChangeCursor.decode(since);
+
+        List<Task> rows = repository.findChangesAfter(ownerId, after.changeSeq(), after.id(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        List<Task> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Task task : rows) {
+            if (!task.isDeleted()) {
+                upserted.add(task);
+            } else if (!initial) {
+                deleted.add(task.getId());
+            }
+        }
+        ChangeCursor next = rows.isEmpty() ? after : ChangeCursor.of(rows.get(rows.size() - 1));
+        return new TaskChanges(upserted, deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente (ou imediatamente, fora de transação).
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
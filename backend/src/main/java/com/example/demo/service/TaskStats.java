@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Estatísticas agregadas das tarefas para os dashboards.
+ * @param total Quantidade de tarefas.
+ * @param byStatus Quantidade por status (todos os status, inclusive os sem tarefas).
+ * @param overdue Tarefas não concluídas com prazo anterior a hoje.
+ * @param dueThisWeek Tarefas não concluídas com prazo entre hoje e o fim da semana (domingo).
+ * @param date Data de referência do cálculo.
+ */
+public record TaskStats(long total, Map<TaskStatus, Long> byStatus, long overdue, long dueThisWeek, LocalDate date) {
+}
@@ -0,0 +1,53 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatsBucket;
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Variação das estatísticas produzida por uma transação, agrupada por (dono, status, prazo).
+ * Alterações que se anulam (ex: edição que não muda status nem prazo) não geram escrita.
+ */
+public class TaskStatsDelta {
+
+    /**
+     * Variação de um grupo.
+     */
+    public record Change(Long ownerId, TaskStatus status, LocalDate dueDate, long delta) {
+    }
+
+    private final Map<String, Change> changes = new LinkedHashMap<>();
+
+    /**
+     * Conta a tarefa no grupo do seu dono, status e prazo atuais.
+     */
+    public void add(Task task) {
+        add(task.getOwnerId(), task.getStatus(), task.getDueDate(), 1);
+    }
+
+    /**
+     * Desconta a tarefa do grupo do seu status e prazo atuais
+     * (em edições, chamar antes de alterar os campos).
+     */
+    public void remove(Task task) {
+        add(task.getOwnerId(), task.getStatus(), task.getDueDate(), -1);
+    }
+
+    public void add(Long ownerId, TaskStatus status, LocalDate dueDate, long delta) {
+        changes.merge(TaskStatsBucket.key(ownerId, status, dueDate), new Change(ownerId, status, dueDate, delta),
+                (a, b) -> new Change(ownerId, status, dueDate, a.delta() + b.delta()));
+    }
+
+    /**
+     * Variações diferentes de zero, com a chave do grupo.
+     */
+    public Map<String, Change> changes() {
+        Map<String, Change> result = new LinkedHashMap<>(changes);
+        result.values().removeIf(change -> change.delta() == 0);
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskChangeCounter;
+import com.example.demo.model.TaskStatsBucket;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.TaskChangeCounterRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mantém o resumo de tarefas por dono, status e prazo (tabela task_stats) e calcula as estatísticas
+ * de cada usuário a partir dele.
+ * <p>
+ * Cada escrita do TaskService aplica sua variação na mesma transação, depois de reservar o
+ * change_seq: o lock do contador de alterações já serializa as escritas, então a criação de um
+ * grupo novo não disputa com outra transação e o resumo nunca fica à frente dos dados.
+ * As consultas somam os grupos do usuário (no máximo um por status e dia de prazo), com tempo
+ * independente do tamanho da tabela de tarefas.
+ * <p>
+ * Escritas que não passam pelo serviço (scripts, SQL manual) desviam o resumo; a reconciliação
+ * periódica compara com um GROUP BY na tabela e corrige a diferença.
+ */
+@Component
+public class TaskStatsTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsTracker.class);
+
+    @Autowired
+    private TaskStatsRepository repository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Aplica a variação ao resumo. Deve ser chamado na transação da escrita,
+     * após TaskChangeTracker.nextChangeSeq().
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(TaskStatsDelta delta) {
+        delta.changes().forEach((bucket, change) -> {
+            if (repository.increment(bucket, change.delta()) == 0) {
+                repository.insert(bucket, change.ownerId(), change.status().getCode(), change.dueDate(), change.delta());
+            }
+        });
+    }
+
+    /**
+     * Calcula as estatísticas das tarefas do usuário em relação à data informada.
+     * A semana vai de segunda a domingo; "vencendo na semana" considera de hoje até domingo.
+     */
+    @Transactional(readOnly = true)
+    public TaskStats current(Long ownerId, LocalDate today) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (Object[] row : repository.sumByStatus(ownerId)) {
+            long count = ((Number) row[1]).longValue();
+            byStatus.put((TaskStatus) row[0], count);
+            total += count;
+        }
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        return new TaskStats(total, byStatus,
+                repository.sumOpenDueBefore(ownerId, TaskStatus.CONCLUIDA, today),
+                repository.sumOpenDueBetween(ownerId, TaskStatus.CONCLUIDA, today, endOfWeek),
+                today);
+    }
+
+    /**
+     * Corrige o resumo a partir da contagem real das tarefas.
+     * <p>
+     * A contagem (GROUP BY) e a leitura do resumo rodam no mesmo snapshot (REPEATABLE READ), sem
+     * bloquear as escritas; a diferença entre os dois é então somada ao resumo em uma transação curta.
+     * Como é uma diferença, e não uma sobrescrita, as escritas confirmadas nesse intervalo são preservadas.
+     * Roda na inicialização (preenchendo o resumo de bancos já existentes) e a cada tasks.stats.reconcile-interval.
+     * @return Quantidade de grupos corrigidos.
+     */
+    @Scheduled(initialDelayString = "${tasks.stats.reconcile-initial-delay:0}",
+            fixedDelayString = "${tasks.stats.reconcile-interval:1h}")
+    public int reconcile() {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+        TaskStatsDelta drift = snapshot.execute(status -> {
+            TaskStatsDelta delta = new TaskStatsDelta();
+            for (Object[] row : taskRepository.countByOwnerStatusAndDueDate()) {
+                delta.add((Long) row[0], (TaskStatus) row[1], (LocalDate) row[2], ((Number) row[3]).longValue());
+            }
+            for (TaskStatsBucket bucket : repository.findAll()) {
+                delta.add(bucket.getOwnerId(), bucket.getStatus(), bucket.getDueDate(), -bucket.getTaskCount());
+            }
+            return delta;
+        });
+
+        int corrected = drift.changes().size();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Mesmo lock das escritas: nenhum grupo é criado por duas transações ao mesmo tempo
+            counterRepository.lockById(TaskChangeCounter.SINGLETON_ID);
+            apply(drift);
+            repository.deleteEmpty();
+        });
+        if (corrected > 0) {
+            log.warn("Estatísticas de tarefas divergentes em {} grupo(s); resumo corrigido", corrected);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+/**
+ * Lançada quando a versão informada pelo cliente (If-Match) não corresponde
+ * mais à versão atual da tarefa, ou seja, outra escrita ocorreu antes.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long id) {
+        super("A tarefa " + id + " foi alterada por outra requisição");
+    }
+}
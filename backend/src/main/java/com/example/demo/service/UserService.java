@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.model.AppUser;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Cadastro e consulta de usuários, usada pelo login (AuthenticationManager) e para resolver
+ * o dono das tarefas a partir do usuário autenticado.
+ * <p>
+ * As senhas são guardadas pelo DelegatingPasswordEncoder (BCrypt). Senhas de formato antigo
+ * (ex: "{noop}", da tabela users legada) são convertidas para BCrypt no primeiro login bem-sucedido.
+ */
+@Service
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Pattern USERNAME = Pattern.compile("[A-Za-z0-9._-]{3,50}");
+    private static final int MIN_PASSWORD = 8;
+    // O BCrypt ignora o que passar de 72 bytes
+    private static final int MAX_PASSWORD = 72;
+
+    /**
+     * Usuário carregado para o login, com o id usado como dono das tarefas.
+     */
+    public static class UserAccount extends User {
+
+        private final Long id;
+
+        UserAccount(AppUser user) {
+            super(user.getUsername(), user.getPassword(), List.of());
+            this.id = user.getId();
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserAccount loadUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .map(UserAccount::new)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
+    }
+
+    /**
+     * Regrava a senha com o encoder atual (chamado pelo Spring Security após um login com hash antigo).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /**
+     * Cadastra um novo usuário.
+     * @param username Nome de login (3 a 50 caracteres: letras, números, ".", "_" ou "-").
+     * @param password Senha em texto puro (8 a 72 caracteres), guardada apenas como hash.
+     * @return O usuário criado.
+     * @throws IllegalArgumentException Nome ou senha fora das regras.
+     * @throws UsernameTakenException Nome já cadastrado.
+     */
+    @Transactional
+    public AppUser register(String username, String password) {
+        if (username == null || !USERNAME.matcher(username).matches()) {
+            throw new IllegalArgumentException("Nome de usuário deve ter de 3 a 50 letras, números, '.', '_' ou '-'");
+        }
+        if (password == null || password.length() < MIN_PASSWORD || password.length() > MAX_PASSWORD) {
+            throw new IllegalArgumentException("Senha deve ter de " + MIN_PASSWORD + " a " + MAX_PASSWORD + " caracteres");
+        }
+        if (userRepository.existsByUsername(username)) {
+            throw new UsernameTakenException(username);
+        }
+        AppUser user = new AppUser();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode(password));
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Cadastro concorrente com o mesmo nome (restrição users_username_key)
+            throw new UsernameTakenException(username);
+        }
+    }
+
+    /**
+     * Id do usuário autenticado, dono das tarefas que ele lê e escreve.
+     * Com o token JWT o id vem no próprio principal; outras autenticações consultam o banco.
+     * @throws UsernameNotFoundException Usuário autenticado que não existe mais.
+     */
+    public Long idOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return loadUserByUsername(authentication.getName()).getId();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+/**
+ * Lançada ao registrar um nome de usuário já existente.
+ */
+public class UsernameTakenException extends RuntimeException {
+
+    public UsernameTakenException(String username) {
+        super("Nome de usuário já cadastrado");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.suggestion;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Circuit breaker simples para chamadas a serviços externos.
+ * CLOSED: chamadas liberadas, falhas consecutivas são contadas.
+ * OPEN: após atingir o limite de falhas, as chamadas são recusadas imediatamente (fail fast).
+ * HALF_OPEN: passado o tempo de abertura, uma única chamada de teste é liberada;
+ * sucesso fecha o circuito, falha o reabre.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Indica se uma chamada pode ser feita agora.
+     * Quando o circuito está aberto e o tempo de espera expirou, libera uma única chamada de teste.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.millis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Registra uma chamada bem-sucedida e fecha o circuito.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Registra uma falha; abre o circuito ao atingir o limite ou se a chamada de teste falhar.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.millis();
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.suggestion;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuração da integração de sugestões e do executor assíncrono que a utiliza.
+ */
+@Configuration
+@EnableAsync
+@EnableConfigurationProperties(SuggestionProperties.class)
+public class SuggestionConfig {
+
+    public static final String ENRICHMENT_EXECUTOR = "suggestionExecutor";
+
+    /**
+     * Executor dedicado ao enriquecimento de descrições.
+     * Fila limitada e descarte em caso de saturação: a tarefa já foi salva com o fallback,
+     * então perder um enriquecimento é preferível a acumular trabalho sem limite.
+     * No modo virtual threads os limites continuam valendo (protegem a API externa),
+     * mas as threads do pool passam a ser virtuais.
+     */
+    @Bean(name = ENRICHMENT_EXECUTOR)
+    public Executor suggestionExecutor(SuggestionProperties properties, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setCorePoolSize(properties.getEnrichmentThreads());
+        executor.setMaxPoolSize(properties.getEnrichmentThreads());
+        executor.setQueueCapacity(properties.getEnrichmentQueueCapacity());
+        executor.setThreadNamePrefix("suggestion-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
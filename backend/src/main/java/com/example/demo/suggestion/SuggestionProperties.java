@@ -0,0 +1,40 @@
+package com.example.demo.suggestion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configurações da integração com a API externa de sugestões (prefixo "suggestion").
+ * Os valores padrão priorizam falhar rápido: o create de tarefas nunca deve esperar a API externa.
+ */
+@Data
+@ConfigurationProperties(prefix = "suggestion")
+public class SuggestionProperties {
+
+    // Endpoint consultado para obter a sugestão de descrição
+    private String url = "https://jsonplaceholder.typicode.com/posts/1";
+
+    // Tempo máximo para estabelecer a conexão TCP/TLS
+    private Duration connectTimeout = Duration.ofMillis(500);
+
+    // Tempo máximo de espera pela resposta após a conexão
+    private Duration readTimeout = Duration.ofSeconds(1);
+
+    // Tempo de vida de uma sugestão em cache
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    // Quantidade máxima de sugestões mantidas em cache
+    private long cacheSize = 100;
+
+    // Falhas consecutivas necessárias para abrir o circuito
+    private int failureThreshold = 5;
+
+    // Tempo em que o circuito permanece aberto antes de uma nova tentativa
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    // Threads e fila do executor que enriquece descrições em segundo plano
+    private int enrichmentThreads = 2;
+    private int enrichmentQueueCapacity = 1000;
+}
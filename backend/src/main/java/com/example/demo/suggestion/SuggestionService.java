@@ -0,0 +1,93 @@
+package com.example.demo.suggestion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+
+/**
+ * Integração com a API externa (JSONPlaceholder) que fornece sugestões de conteúdo.
+ * Protege o restante da aplicação contra lentidão ou indisponibilidade do serviço externo:
+ * cliente HTTP único com pool de conexões e timeouts, cache com TTL das sugestões obtidas
+ * e circuit breaker que devolve o fallback imediatamente enquanto o serviço estiver falhando.
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionService.class);
+
+    // Sugestão usada quando a API externa não responde a tempo ou está fora do ar
+    public static final String FALLBACK = "Realizar tarefas pendentes com foco.";
+
+    private final SuggestionProperties properties;
+    private final RestClient restClient;
+    private final Cache<String, String> cache;
+    private final CircuitBreaker circuitBreaker;
+
+    public SuggestionService(SuggestionProperties properties) {
+        this.properties = properties;
+
+        // O HttpClient do JDK mantém as conexões abertas e as reaproveita entre chamadas
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build();
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+    }
+
+    /**
+     * Retorna a sugestão em cache, sem qualquer chamada de rede.
+     * @return A sugestão, ou null se ainda não houver uma válida em cache.
+     */
+    public String getCachedSuggestion() {
+        return cache.getIfPresent(properties.getUrl());
+    }
+
+    /**
+     * Obtém uma sugestão: primeiro do cache, depois da API externa (se o circuito permitir).
+     * Nunca lança exceção; em caso de erro, timeout ou circuito aberto devolve o FALLBACK.
+     * Chamada bloqueante: deve ser usada fora do caminho crítico das requisições.
+     * @return String contendo a sugestão ou o fallback.
+     */
+    public String getSuggestion() {
+        String url = properties.getUrl();
+        String cached = cache.getIfPresent(url);
+        if (cached != null) {
+            return cached;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            return FALLBACK;
+        }
+        try {
+            Map<?, ?> response = restClient.get().uri(url).retrieve().body(Map.class);
+            Object body = response == null ? null : response.get("body");
+            if (!(body instanceof String suggestion)) {
+                throw new IllegalStateException("Resposta sem o campo 'body'");
+            }
+            circuitBreaker.onSuccess();
+            cache.put(url, suggestion);
+            return suggestion;
+        } catch (Exception e) {
+            circuitBreaker.onFailure();
+            log.warn("Falha ao consultar sugestão externa: {}", e.getMessage());
+            return FALLBACK;
+        }
+    }
+
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+}
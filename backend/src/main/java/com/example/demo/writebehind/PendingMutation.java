@@ -0,0 +1,10 @@
+package com.example.demo.writebehind;
+
+/**
+ * Registro do journal aguardando o escritor.
+ * @param seq Número do registro no journal.
+ * @param mutation Escrita a aplicar.
+ * @param acceptedAtMillis Momento em que entrou na fila (base da métrica de atraso).
+ */
+record PendingMutation(long seq, TaskMutation mutation, long acceptedAtMillis) {
+}
@@ -0,0 +1,325 @@
+package com.example.demo.writebehind;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Journal local append-only das escritas aceitas no modo write-behind.
+ * <p>
+ * Os registros ficam em segmentos de tamanho fixo, pré-alocados e mapeados em memória
+ * (MappedByteBuffer): anexar é uma cópia para a memória, e sync() força as páginas alteradas
+ * para o disco (msync). Appends concorrentes são confirmados por um único force (group commit).
+ * Cada segmento tem o nome do número do seu primeiro registro.
+ * <p>
+ * Formato do registro: tamanho (int), número (long), CRC32C do número e do conteúdo (int) e o conteúdo.
+ * Um tamanho 0 marca o fim dos dados, já que o segmento novo é preenchido com zeros. Na abertura,
+ * a leitura para no primeiro registro inválido (queda no meio de uma escrita) e a sobra é zerada.
+ */
+public class TaskJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    private static final int HEADER_SIZE = 16;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String ID_FILE = "journal.id";
+
+    /**
+     * Registro lido do journal.
+     * @param seq Número do registro (consecutivos a partir de 1).
+     * @param payload Conteúdo gravado.
+     */
+    public record Entry(long seq, byte[] payload) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final String id;
+    // Segmentos existentes, pelo número do primeiro registro
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final Object syncLock = new Object();
+    private final AtomicLong durableSeq = new AtomicLong();
+
+    // Segmento corrente (protegidos pelo monitor da instância)
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int syncedPosition;
+    private boolean closed;
+    private volatile long lastSeq;
+
+    private TaskJournal(Path directory, int segmentSize, String id) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.id = id;
+    }
+
+    /**
+     * Abre (ou cria) o journal no diretório, posicionando a escrita após o último registro íntegro.
+     * @param directory Diretório do journal.
+     * @param segmentSize Tamanho dos novos segmentos, em bytes.
+     */
+    public static TaskJournal open(Path directory, long segmentSize) throws IOException {
+        if (segmentSize < 4096 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de segmento do journal inválido: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        Path idFile = directory.resolve(ID_FILE);
+        if (Files.notExists(idFile)) {
+            Path temp = Files.writeString(directory.resolve(ID_FILE + ".tmp"), UUID.randomUUID().toString());
+            Files.move(temp, idFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+        TaskJournal journal = new TaskJournal(directory, (int) segmentSize, Files.readString(idFile).trim());
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Identificador deste journal, usado para guardar o progresso da aplicação no banco.
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Número do último registro anexado (0 se o journal estiver vazio).
+     */
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Anexa um registro. Ele só é durável após sync() com o número devolvido.
+     * @param payload Conteúdo do registro.
+     * @return Número do registro.
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal fechado");
+        }
+        int size = HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Registro de " + payload.length + " bytes maior que o segmento do journal");
+        }
+        if (position + size > buffer.capacity()) {
+            roll();
+        }
+        long seq = lastSeq + 1;
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putLong(position + 4, seq);
+        buffer.putInt(position + 12, checksum(seq, payload));
+        // O tamanho por último: até aqui o registro ainda é o fim dos dados
+        buffer.putInt(position, payload.length);
+        position += size;
+        lastSeq = seq;
+        return seq;
+    }
+
+    /**
+     * Garante que os registros até seq estão no disco. Quem chega enquanto outro force está
+     * em andamento espera e, na maioria das vezes, já encontra seu registro confirmado.
+     */
+    public void sync(long seq) throws IOException {
+        if (durableSeq.get() >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSeq.get() >= seq) {
+                return;
+            }
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long upTo;
+            synchronized (this) {
+                target = buffer;
+                from = syncedPosition;
+                to = position;
+                upTo = lastSeq;
+            }
+            if (to > from) {
+                target.force(from, to - from);
+            }
+            synchronized (this) {
+                if (target == buffer) {
+                    syncedPosition = Math.max(syncedPosition, to);
+                }
+            }
+            durableSeq.accumulateAndGet(upTo, Math::max);
+        }
+    }
+
+    /**
+     * Percorre os registros posteriores a afterSeq, em ordem. Usado na inicialização,
+     * antes de qualquer append, para reaplicar o que não chegou ao banco.
+     * @return Quantidade de registros entregues.
+     */
+    public long replay(long afterSeq, Consumer<Entry> consumer) throws IOException {
+        long count = 0;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long next = segments.higherKey(segment.getKey());
+            if (next != null && next - 1 <= afterSeq) {
+                continue;
+            }
+            try (FileChannel file = FileChannel.open(segment.getValue(), READ)) {
+                MappedByteBuffer data = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+                long expected = segment.getKey();
+                int offset = 0;
+                int length;
+                while ((length = recordLength(data, offset, expected)) >= 0) {
+                    if (expected > afterSeq) {
+                        byte[] payload = new byte[length];
+                        data.get(offset + HEADER_SIZE, payload);
+                        consumer.accept(new Entry(expected, payload));
+                        count++;
+                    }
+                    offset += HEADER_SIZE + length;
+                    expected++;
+                }
+                if (next != null && next != expected) {
+                    log.warn("Segmento {} do journal termina no registro {}, mas o seguinte começa em {}",
+                            segment.getValue().getFileName(), expected - 1, next);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove os segmentos cujos registros já foram todos aplicados. O segmento corrente nunca é removido.
+     */
+    public void release(long appliedSeq) {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long next = segments.higherKey(segment.getKey());
+            if (next == null || next - 1 > appliedSeq) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            } catch (IOException e) {
+                log.warn("Falha ao remover o segmento {} do journal", segment.getValue(), e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(file -> segments.put(firstSeqOf(file), file));
+        }
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Map.Entry<Long, Path> last = segments.lastEntry();
+        channel = FileChannel.open(last.getValue(), READ, WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        long expected = last.getKey();
+        int offset = 0;
+        int length;
+        while ((length = recordLength(buffer, offset, expected)) >= 0) {
+            offset += HEADER_SIZE + length;
+            expected++;
+        }
+        position = offset;
+        syncedPosition = offset;
+        lastSeq = expected - 1;
+        durableSeq.set(lastSeq);
+        discardTail(offset);
+    }
+
+    // Zera bytes de uma escrita interrompida após o último registro íntegro
+    private void discardTail(int offset) {
+        boolean dirty = false;
+        for (int i = offset; i < buffer.capacity() && !dirty; i++) {
+            dirty = buffer.get(i) != 0;
+        }
+        if (dirty) {
+            log.warn("Journal {}: descartando registro incompleto após o número {}", directory, lastSeq);
+            buffer.put(offset, new byte[buffer.capacity() - offset]);
+            buffer.force();
+        }
+    }
+
+    private void roll() throws IOException {
+        // O segmento anterior fica inteiramente durável antes de o próximo receber registros
+        buffer.force();
+        durableSeq.accumulateAndGet(lastSeq, Math::max);
+        channel.close();
+        openSegment(lastSeq + 1);
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSeq, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, CREATE_NEW, READ, WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        position = 0;
+        syncedPosition = 0;
+        lastSeq = firstSeq - 1;
+        segments.put(firstSeq, file);
+        // Torna durável a entrada do novo arquivo no diretório
+        try (FileChannel dir = FileChannel.open(directory, READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Diretório do journal não suporta fsync", e);
+        }
+    }
+
+    // Tamanho do conteúdo do registro na posição, ou -1 se não houver ali um registro íntegro com esse número
+    private static int recordLength(ByteBuffer data, int offset, long expectedSeq) {
+        if (offset + HEADER_SIZE > data.capacity()) {
+            return -1;
+        }
+        int length = data.getInt(offset);
+        if (length <= 0 || length > data.capacity() - offset - HEADER_SIZE || data.getLong(offset + 4) != expectedSeq) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data.slice(offset + 4, 8));
+        crc.update(data.slice(offset + HEADER_SIZE, length));
+        return data.getInt(offset + 12) == (int) crc.getValue() ? length : -1;
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long firstSeqOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
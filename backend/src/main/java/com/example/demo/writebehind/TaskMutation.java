@@ -0,0 +1,15 @@
+package com.example.demo.writebehind;
+
+import com.example.demo.model.Task;
+
+/**
+ * Escrita aceita no modo write-behind, como gravada no journal (JSON).
+ * @param type Tipo da escrita.
+ * @param ownerId Usuário que fez a escrita (dono da tarefa).
+ * @param id Id da tarefa (já reservado na sequence, no caso de criação).
+ * @param task Dados recebidos (criação e atualização); null na remoção.
+ */
+public record TaskMutation(Type type, Long ownerId, Long id, Task task) {
+
+    public enum Type { CREATE, UPDATE, DELETE }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.writebehind;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.WriteBehindCheckpoint;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.WriteBehindCheckpointRepository;
+import com.example.demo.service.TaskChangeTracker;
+import com.example.demo.service.TaskChangedEvent;
+import com.example.demo.service.TaskStatsDelta;
+import com.example.demo.service.TaskStatsTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aplica um lote de escritas do journal ao banco em uma única transação.
+ * <p>
+ * As escritas são validadas na ordem do journal sobre o estado em memória das tarefas do lote
+ * (tarefas de outro usuário contam como inexistentes),
+ * e apenas o estado final de cada id é gravado: várias atualizações da mesma tarefa viram um
+ * UPDATE, e uma tarefa criada e removida no mesmo lote nem chega ao banco. As criações usam
+ * um INSERT em lote via JDBC, pois o id já foi reservado na sequence ao aceitar a escrita.
+ * A transação também mantém change_seq (reservado depois de gravar as linhas, como nos lotes do
+ * TaskService), o resumo de estatísticas, os TaskChangedEvent (cache, SSE e busca) e a posição
+ * aplicada do journal, como as escritas síncronas do TaskService.
+ */
+class TaskMutationApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskMutationApplier.class);
+
+    private static final String INSERT = "INSERT INTO tasks (id, owner_id, title, description, created_at, updated_at, "
+            + "due_date, status, version, change_seq, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0, false)";
+
+    /**
+     * Resultado de um lote.
+     * @param applied Escritas refletidas no banco.
+     * @param rejected Escritas descartadas por não serem mais válidas (ex: tarefa removida).
+     */
+    record Result(int applied, int rejected) {
+    }
+
+    private final TaskRepository repository;
+    private final WriteBehindCheckpointRepository checkpoints;
+    private final TaskChangeTracker changeTracker;
+    private final TaskStatsTracker statsTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final String journalId;
+
+    TaskMutationApplier(TaskRepository repository, WriteBehindCheckpointRepository checkpoints,
+                        TaskChangeTracker changeTracker, TaskStatsTracker statsTracker,
+                        ApplicationEventPublisher eventPublisher, JdbcTemplate jdbc,
+                        TransactionTemplate transactionTemplate, String journalId) {
+        this.repository = repository;
+        this.checkpoints = checkpoints;
+        this.changeTracker = changeTracker;
+        this.statsTracker = statsTracker;
+        this.eventPublisher = eventPublisher;
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.journalId = journalId;
+    }
+
+    /**
+     * Posição do journal já aplicada; cria a linha do journal na primeira execução.
+     */
+    long appliedSeq() {
+        return transactionTemplate.execute(status -> checkpoints.findById(journalId)
+                .map(WriteBehindCheckpoint::getAppliedSeq)
+                .orElseGet(() -> {
+                    WriteBehindCheckpoint checkpoint = new WriteBehindCheckpoint();
+                    checkpoint.setJournalId(journalId);
+                    checkpoint.setAppliedSeq(0L);
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    checkpoints.saveAndFlush(checkpoint);
+                    return 0L;
+                }));
+    }
+
+    /**
+     * Avança a posição aplicada sem gravar tarefas (registros descartados no fim de um lote).
+     */
+    void skip(long seq) {
+        transactionTemplate.executeWithoutResult(status -> checkpoints.advance(journalId, seq, LocalDateTime.now()));
+    }
+
+    /**
+     * Aplica o lote, na ordem do journal, e avança a posição aplicada até o último registro.
+     */
+    Result apply(List<PendingMutation> batch) {
+        return transactionTemplate.execute(status -> {
+            Set<Long> ids = new LinkedHashSet<>();
+            batch.forEach(pending -> ids.add(pending.mutation().id()));
+            // Tarefas já existentes, gerenciadas pela sessão: as alterações viram UPDATE no commit
+            Map<Long, Task> existing = new HashMap<>();
+            repository.findAllById(ids).forEach(task -> existing.put(task.getId(), task));
+            TaskStatsDelta stats = new TaskStatsDelta();
+            existing.values().forEach(stats::remove);
+
+            Map<Long, Task> created = new LinkedHashMap<>();
+            Set<Long> updated = new LinkedHashSet<>();
+            Set<Long> deleted = new LinkedHashSet<>();
+            int rejected = 0;
+            for (PendingMutation pending : batch) {
+                String rejection = apply(pending.mutation(), existing, created, updated, deleted);
+                if (rejection != null) {
+                    rejected++;
+                    log.warn("Escrita {} do journal descartada: {}", pending.seq(), rejection);
+                }
+            }
+            updated.removeAll(deleted);
+
+            if (!created.isEmpty() || !updated.isEmpty() || !deleted.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Object[]> rows = new ArrayList<>();
+                for (Task task : created.values()) {
+                    rows.add(new Object[]{task.getId(), task.getOwnerId(), task.getTitle(), task.getDescription(), now, now,
+                            task.getDueDate(), task.getStatus().getCode()});
+                    stats.add(task);
+                }
+                if (!rows.isEmpty()) {
+                    jdbc.batchUpdate(INSERT, rows);
+                }
+                deleted.forEach(id -> existing.get(id).setDeleted(true));
+                // As linhas são gravadas antes de reservar o número da sequência, que bloqueia as demais escritas até o commit
+                repository.flush();
+                List<Long> changed = new ArrayList<>(created.keySet());
+                changed.addAll(updated);
+                changed.addAll(deleted);
+                repository.assignChangeSeq(changed, changeTracker.nextChangeSeq());
+                existing.values().stream().filter(task -> !task.isDeleted()).forEach(stats::add);
+                statsTracker.apply(stats);
+                publish(TaskChangedEvent.Type.CREATED, created.values());
+                publish(TaskChangedEvent.Type.UPDATED, updated.stream().map(existing::get).toList());
+                publish(TaskChangedEvent.Type.DELETED, deleted.stream().map(existing::get).toList());
+            }
+            checkpoints.advance(journalId, batch.get(batch.size() - 1).seq(), LocalDateTime.now());
+            return new Result(batch.size() - rejected, rejected);
+        });
+    }
+
+    // Aplica uma escrita ao estado em memória; devolve o motivo da rejeição, ou null
+    private static String apply(TaskMutation mutation, Map<Long, Task> existing, Map<Long, Task> created,
+                                Set<Long> updated, Set<Long> deleted) {
+        Long id = mutation.id();
+        if (mutation.ownerId() == null) {
+            return "escrita " + id + " sem dono (gravada antes do controle de usuários)";
+        }
+        Task current = created.containsKey(id) ? created.get(id) : deleted.contains(id) ? null : existing.get(id);
+        if (current != null && !current.getOwnerId().equals(mutation.ownerId())) {
+            current = null;
+        }
+        switch (mutation.type()) {
+            case CREATE -> {
+                if (existing.containsKey(id) || created.containsKey(id) || deleted.contains(id)) {
+                    return "tarefa " + id + " já existe";
+                }
+                created.put(id, copyOf(mutation.task(), mutation.ownerId(), id));
+            }
+            case UPDATE -> {
+                if (current == null) {
+                    return "tarefa " + id + " não encontrada";
+                }
+                Task details = mutation.task();
+                // Mesmas regras do TaskService.updateTask: status omitido mantém o atual
+                TaskStatus newStatus = details.getStatus() != null ? details.getStatus() : current.getStatus();
+                if (!current.getStatus().canTransitionTo(newStatus)) {
+                    return "transição de " + current.getStatus() + " para " + newStatus + " não permitida na tarefa " + id;
+                }
+                current.setTitle(details.getTitle());
+                current.setDescription(details.getDescription());
+                current.setStatus(newStatus);
+                if (details.getDueDate() != null) {
+                    current.setDueDate(details.getDueDate());
+                }
+                if (!created.containsKey(id)) {
+                    updated.add(id);
+                }
+            }
+            case DELETE -> {
+                // Como no TaskService.deleteTask, ids inexistentes (ou de outro usuário) são ignorados
+                if (current != null && created.remove(id) == null) {
+                    deleted.add(id);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Cópia dos dados recebidos: o registro pode ser reaplicado se o lote falhar
+    private static Task copyOf(Task source, Long ownerId, Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setOwnerId(ownerId);
+        task.setTitle(source.getTitle());
+        task.setDescription(source.getDescription());
+        task.setDueDate(source.getDueDate());
+        task.setStatus(source.getStatus() != null ? source.getStatus() : TaskStatus.PENDENTE);
+        return task;
+    }
+
+    // Um evento por dono, como nas escritas síncronas
+    private void publish(TaskChangedEvent.Type type, Collection<Task> tasks) {
+        Map<Long, List<Long>> byOwner = new LinkedHashMap<>();
+        tasks.forEach(task -> byOwner.computeIfAbsent(task.getOwnerId(), owner -> new ArrayList<>()).add(task.getId()));
+        byOwner.forEach((ownerId, ids) -> eventPublisher.publishEvent(new TaskChangedEvent(type, ownerId, ids)));
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.demo.writebehind;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.service.TaskService;
+import com.example.demo.suggestion.SuggestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo write-behind das escritas de tarefas (tasks.write-behind.enabled=true).
+ * <p>
+ * A escrita é validada (campos obrigatórios), recebe o id definitivo no caso de criação,
+ * é anexada ao TaskJournal e confirmada em disco; só então o controller responde 202 Accepted.
+ * Uma única thread aplica os registros ao banco na ordem do journal, em lotes de até
+ * batch-size registros por transação (TaskMutationApplier), o que mantém a ordem das escritas
+ * de um mesmo id. Regras que dependem do estado atual (existência da tarefa, transição de status)
+ * são verificadas na aplicação; escritas que deixam de ser válidas são descartadas e contadas
+ * em tasks.writebehind.rejected.
+ * <p>
+ * A posição aplicada é gravada no banco junto com cada lote; na inicialização, os registros
+ * posteriores a ela são reaplicados antes de a aplicação aceitar requisições. Com o banco
+ * indisponível, o mesmo lote é repetido até ser aceito; se o atraso passar de max-lag registros,
+ * novas escritas recebem 503 até a fila diminuir.
+ */
+public class TaskWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    private final TaskJournal journal;
+    private final TaskMutationApplier applier;
+    private final WriteBehindProperties properties;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final IdentifierGenerator idGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final SuggestionService suggestionService;
+    // Registros do journal ainda não aplicados, na ordem do journal
+    private final BlockingQueue<PendingMutation> queue = new LinkedBlockingQueue<>();
+    private final Counter applied;
+    private final Counter rejected;
+    private final Timer batches;
+
+    private volatile long appliedSeq;
+    // Momento de aceitação do registro mais antigo do lote em andamento (0 sem lote)
+    private volatile long inFlightSince;
+    private volatile boolean running;
+    private Thread writer;
+
+    TaskWriteBehind(TaskJournal journal, TaskMutationApplier applier, WriteBehindProperties properties,
+                    ObjectMapper objectMapper, EntityManager entityManager, IdentifierGenerator idGenerator,
+                    TransactionTemplate transactionTemplate, SuggestionService suggestionService,
+                    MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.applier = applier;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.idGenerator = idGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.suggestionService = suggestionService;
+        Gauge.builder("tasks.writebehind.lag", this, TaskWriteBehind::lag)
+                .description("Escritas aceitas no journal e ainda não aplicadas ao banco")
+                .baseUnit("records")
+                .register(meterRegistry);
+        Gauge.builder("tasks.writebehind.lag.age", this, TaskWriteBehind::oldestPendingSeconds)
+                .description("Tempo de espera da escrita pendente mais antiga")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.applied = Counter.builder("tasks.writebehind.applied")
+                .description("Escritas do journal aplicadas ao banco")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("tasks.writebehind.rejected")
+                .description("Escritas do journal descartadas na aplicação (tarefa inexistente, transição inválida, erro de dados)")
+                .register(meterRegistry);
+        this.batches = Timer.builder("tasks.writebehind.batch")
+                .description("Duração da transação de cada lote aplicado")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Aceita a criação de uma tarefa. O id é reservado na sequence da tabela, como no INSERT síncrono.
+     * Descrições vazias recebem a sugestão em cache (ou o fallback), sem chamadas externas.
+     * @param ownerId Dono da nova tarefa.
+     * @return A tarefa como será gravada, já com o id.
+     */
+    public Task create(Long ownerId, Task task) {
+        requireTitle(task);
+        if (task.getDescription() == null || task.getDescription().trim().isEmpty()) {
+            String cached = suggestionService.getCachedSuggestion();
+            task.setDescription(TaskService.SUGGESTION_PREFIX + (cached != null ? cached : SuggestionService.FALLBACK));
+        }
+        if (task.getStatus() == null) {
+            task.setStatus(TaskStatus.PENDENTE);
+        }
+        task.setId(allocateId(task));
+        task.setOwnerId(ownerId);
+        append(new TaskMutation(TaskMutation.Type.CREATE, ownerId, task.getId(), task));
+        return task;
+    }
+
+    /**
+     * Aceita a atualização de uma tarefa (mesma semântica do PUT síncrono, sem If-Match).
+     * A existência da tarefa e o dono são conferidos na aplicação.
+     * @return Os dados aceitos.
+     */
+    public Task update(Long ownerId, Long id, Task task) {
+        requireTitle(task);
+        task.setId(id);
+        append(new TaskMutation(TaskMutation.Type.UPDATE, ownerId, id, task));
+        return task;
+    }
+
+    /**
+     * Aceita a remoção de uma tarefa.
+     */
+    public void delete(Long ownerId, Long id) {
+        append(new TaskMutation(TaskMutation.Type.DELETE, ownerId, id, null));
+    }
+
+    /**
+     * Registros aceitos e ainda não aplicados.
+     */
+    public long lag() {
+        return Math.max(0, journal.lastSeq() - appliedSeq);
+    }
+
+    private double oldestPendingSeconds() {
+        long since = inFlightSince;
+        if (since == 0) {
+            PendingMutation head = queue.peek();
+            since = head != null ? head.acceptedAtMillis() : 0;
+        }
+        return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since) / 1000.0;
+    }
+
+    private static void requireTitle(Task task) {
+        if (task.getTitle() == null || task.getTitle().isBlank()) {
+            throw new IllegalArgumentException("O título da tarefa é obrigatório");
+        }
+    }
+
+    // Usa o gerador da entidade (pooled, blocos de 50): os ids não colidem com os das escritas síncronas
+    private Long allocateId(Task task) {
+        return transactionTemplate.execute(status -> (Long) idGenerator.generate(
+                entityManager.unwrap(SharedSessionContractImplementor.class), task));
+    }
+
+    private void append(TaskMutation mutation) {
+        if (!running || lag() >= properties.getMaxLag()) {
+            throw new WriteBehindOverloadedException(lag());
+        }
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(mutation);
+            long seq;
+            // A fila recebe os registros na mesma ordem do journal
+            synchronized (queue) {
+                seq = journal.append(payload);
+                queue.add(new PendingMutation(seq, mutation, System.currentTimeMillis()));
+            }
+            journal.sync(seq);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reaplica o que ficou pendente no journal e inicia o escritor. Roda antes de o servidor web
+     * aceitar requisições (fase 0), então os registros antigos ficam à frente dos novos na fila.
+     */
+    @Override
+    public void start() {
+        appliedSeq = applier.appliedSeq();
+        try {
+            long replayed = journal.replay(appliedSeq, entry -> queue.add(
+                    new PendingMutation(entry.seq(), read(entry.payload()), System.currentTimeMillis())));
+            if (replayed > 0) {
+                log.info("Journal {}: {} escritas pendentes após a posição {} serão reaplicadas", journal.id(), replayed, appliedSeq);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        running = true;
+        writer = new Thread(this::run, "task-write-behind");
+        writer.start();
+    }
+
+    /**
+     * Para de aceitar escritas e encerra o escritor após o lote em andamento; o que ficar
+     * na fila continua no journal e é aplicado na próxima inicialização.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private TaskMutation read(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, TaskMutation.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        List<PendingMutation> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingMutation first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                inFlightSince = first.acceptedAtMillis();
+                batch.add(first);
+                // Janela curta para acumular mais registros no mesmo lote
+                long deadline = System.nanoTime() + properties.getBatchDelay().toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMutation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+                inFlightSince = 0;
+            }
+        }
+    }
+
+    // Aplica o lote; com o banco indisponível, repete o mesmo lote (a ordem do journal é preservada).
+    // Outros erros isolam o registro culpado aplicando os do lote um a um.
+    private void process(List<PendingMutation> batch) throws InterruptedException {
+        long lastSeq = batch.get(batch.size() - 1).seq();
+        boolean retrying = false;
+        while (running) {
+            try {
+                // Após uma falha no commit, o lote pode ter sido gravado mesmo assim
+                if (retrying && applier.appliedSeq() >= lastSeq) {
+                    completed(lastSeq, batch.size(), 0);
+                    return;
+                }
+                long start = System.nanoTime();
+                TaskMutationApplier.Result result = applier.apply(batch);
+                batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                completed(lastSeq, result.applied(), result.rejected());
+                return;
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    log.warn("Falha ao aplicar {} escritas do journal; nova tentativa em {}: {}",
+                            batch.size(), properties.getRetryDelay(), e.toString());
+                    retrying = true;
+                    Thread.sleep(properties.getRetryDelay().toMillis());
+                } else if (batch.size() > 1) {
+                    log.warn("Falha ao aplicar {} escritas do journal; aplicando uma a uma", batch.size(), e);
+                    for (PendingMutation pending : batch) {
+                        process(List.of(pending));
+                    }
+                    return;
+                } else {
+                    log.error("Escrita {} do journal descartada: {}", lastSeq, batch.get(0).mutation(), e);
+                    discard(lastSeq);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void discard(long seq) throws InterruptedException {
+        while (running) {
+            try {
+                applier.skip(seq);
+                completed(seq, 0, 1);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao registrar o descarte da escrita {} do journal: {}", seq, e.toString());
+                Thread.sleep(properties.getRetryDelay().toMillis());
+            }
+        }
+    }
+
+    private void completed(long seq, int appliedCount, int rejectedCount) {
+        appliedSeq = seq;
+        applied.increment(appliedCount);
+        rejected.increment(rejectedCount);
+        journal.release(seq);
+    }
+
+    // Banco fora do ar, conexão perdida, deadlock ou timeout: o mesmo lote pode ser repetido
+    static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof TransactionSystemException;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.writebehind;
+
+import com.example.demo.model.Task;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.WriteBehindCheckpointRepository;
+import com.example.demo.service.TaskChangeTracker;
+import com.example.demo.service.TaskStatsTracker;
+import com.example.demo.suggestion.SuggestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Beans do modo write-behind, criados apenas com tasks.write-behind.enabled=true.
+ * Sem eles, o TaskController grava de forma síncrona.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "tasks.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean
+    public TaskJournal taskJournal(WriteBehindProperties properties) throws IOException {
+        return TaskJournal.open(Path.of(properties.getDirectory()), properties.getSegmentSize().toBytes());
+    }
+
+    @Bean
+    public TaskWriteBehind taskWriteBehind(TaskJournal journal, WriteBehindProperties properties,
+                                           TaskRepository repository, WriteBehindCheckpointRepository checkpoints,
+                                           TaskChangeTracker changeTracker, TaskStatsTracker statsTracker,
+                                           ApplicationEventPublisher eventPublisher, JdbcTemplate jdbc,
+                                           TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory,
+                                           ObjectMapper objectMapper, SuggestionService suggestionService,
+                                           MeterRegistry meterRegistry) {
+        TaskMutationApplier applier = new TaskMutationApplier(repository, checkpoints, changeTracker, statsTracker,
+                eventPublisher, jdbc, transactionTemplate, journal.id());
+        // Mesmo gerador (e otimizador pooled) usado pelo Hibernate nos INSERTs síncronos
+        IdentifierGenerator idGenerator = (IdentifierGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Task.class).getGenerator();
+        return new TaskWriteBehind(journal, applier, properties, objectMapper,
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory), idGenerator,
+                transactionTemplate, suggestionService, meterRegistry);
+    }
+}
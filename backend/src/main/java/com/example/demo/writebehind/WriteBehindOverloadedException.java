@@ -0,0 +1,12 @@
+package com.example.demo.writebehind;
+
+/**
+ * Exceção lançada quando o journal de write-behind acumulou mais escritas pendentes
+ * que o limite configurado (ou o escritor está parando).
+ */
+public class WriteBehindOverloadedException extends RuntimeException {
+
+    public WriteBehindOverloadedException(long lag) {
+        super("Escritas temporariamente indisponíveis: " + lag + " alterações aguardando gravação");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.writebehind;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configurações do modo write-behind das escritas de tarefas (prefixo "tasks.write-behind").
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.write-behind")
+public class WriteBehindProperties {
+
+    // Desligado: as escritas são síncronas (200 após o commit)
+    private boolean enabled = false;
+
+    // Diretório do journal; deve ficar em disco persistente (volume) para sobreviver a reinícios
+    private String directory = "data/journal";
+
+    // Tamanho de cada segmento do journal (pré-alocado e mapeado em memória)
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Máximo de registros aplicados em uma transação
+    private int batchSize = 500;
+
+    // Espera por mais registros antes de aplicar um lote incompleto
+    private Duration batchDelay = Duration.ofMillis(5);
+
+    // Registros pendentes a partir dos quais novas escritas recebem 503
+    private long maxLag = 100_000;
+
+    // Intervalo entre tentativas enquanto o banco estiver indisponível
+    private Duration retryDelay = Duration.ofSeconds(1);
+}
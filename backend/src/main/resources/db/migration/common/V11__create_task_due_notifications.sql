@@ -0,0 +1,17 @@
+-- Avisos de prazo já emitidos dentro da janela de cada varredura (TaskDueScheduler). A cada execução a
+-- varredura relê a janela atrás da sua posição e avisa só as tarefas ausentes daqui: isso cobre as
+-- tarefas confirmadas fora da ordem dos ids. Linhas com prazo anterior à janela são apagadas pela varredura.
+CREATE TABLE IF NOT EXISTS task_due_notifications (
+    kind     VARCHAR(20) NOT NULL,
+    task_id  BIGINT      NOT NULL,
+    due_date DATE        NOT NULL,
+    CONSTRAINT task_due_notifications_pkey PRIMARY KEY (kind, task_id, due_date)
+);
+
+-- Varreduras já em andamento: as tarefas até a posição atual já foram avisadas
+INSERT INTO task_due_notifications (kind, task_id, due_date)
+SELECT s.kind, t.id, t.due_date
+FROM task_due_scans s
+JOIN tasks t ON t.due_date >= CURRENT_DATE - INTERVAL '1' DAY
+    AND (t.due_date < s.cursor_due_date OR (t.due_date = s.cursor_due_date AND t.id <= s.cursor_id))
+WHERE t.deleted = false;
@@ -0,0 +1,40 @@
+-- Schema das tarefas (PostgreSQL e H2 em modo PostgreSQL).
+-- IF NOT EXISTS: bancos criados antes das migrações (ddl-auto=update ou init-db/setup.sql)
+-- recebem apenas o que falta; as colunas legadas são ajustadas na V2 (PostgreSQL).
+-- Os índices das consultas ficam na V3, construídos sem bloquear escritas.
+
+-- Ids alocados em blocos de 50 pela aplicação (allocationSize da entidade Task)
+CREATE SEQUENCE IF NOT EXISTS tasks_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT       DEFAULT nextval('tasks_id_seq') NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    due_date    DATE,
+    -- Código de TaskStatus: 0 = PENDENTE, 1 = EM_ANDAMENTO, 2 = CONCLUIDA
+    status      SMALLINT     DEFAULT 0 NOT NULL,
+    version     BIGINT       DEFAULT 0 NOT NULL,
+    change_seq  BIGINT       DEFAULT 0 NOT NULL,
+    deleted     BOOLEAN      DEFAULT FALSE NOT NULL,
+    CONSTRAINT tasks_pkey PRIMARY KEY (id),
+    CONSTRAINT tasks_status_check CHECK (status BETWEEN 0 AND 2)
+);
+
+-- Contador global de alterações (linha única, criada pela aplicação)
+CREATE TABLE IF NOT EXISTS task_change_counter (
+    id         INTEGER      NOT NULL,
+    version    BIGINT       NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT task_change_counter_pkey PRIMARY KEY (id)
+);
+
+-- Resumo por status e prazo para as estatísticas
+CREATE TABLE IF NOT EXISTS task_stats (
+    bucket     VARCHAR(100) NOT NULL,
+    status     SMALLINT     NOT NULL,
+    due_date   DATE,
+    task_count BIGINT       NOT NULL,
+    CONSTRAINT task_stats_pkey PRIMARY KEY (bucket)
+);
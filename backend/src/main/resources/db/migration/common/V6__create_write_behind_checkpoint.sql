@@ -0,0 +1,9 @@
+-- Progresso do modo write-behind: última posição do journal local já aplicada ao banco.
+-- Uma linha por journal (cada instância tem o seu); atualizada na mesma transação do lote,
+-- então a reaplicação após uma queda começa exatamente depois do último lote confirmado.
+CREATE TABLE IF NOT EXISTS write_behind_checkpoint (
+    journal_id  VARCHAR(36)  NOT NULL,
+    applied_seq BIGINT       NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT write_behind_checkpoint_pkey PRIMARY KEY (journal_id)
+);
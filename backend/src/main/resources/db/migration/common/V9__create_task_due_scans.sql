@@ -0,0 +1,16 @@
+-- Varreduras de prazo (TaskDueScheduler): uma linha por tipo de aviso, com a posição (prazo, id) já
+-- processada e o lease que garante um único processador entre as instâncias. As linhas são criadas
+-- aqui; a posição vazia faz a primeira execução começar pelas tarefas que vencem a partir de hoje.
+CREATE TABLE IF NOT EXISTS task_due_scans (
+    kind            VARCHAR(20)  NOT NULL,
+    cursor_due_date DATE,
+    cursor_id       BIGINT,
+    holder          VARCHAR(100),
+    lease_until     TIMESTAMP(6) NOT NULL,
+    caught_up_at    TIMESTAMP(6),
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT task_due_scans_pkey PRIMARY KEY (kind)
+);
+
+INSERT INTO task_due_scans (kind, lease_until, updated_at) VALUES ('REMINDER', TIMESTAMP '1970-01-01 00:00:00', CURRENT_TIMESTAMP);
+INSERT INTO task_due_scans (kind, lease_until, updated_at) VALUES ('OVERDUE', TIMESTAMP '1970-01-01 00:00:00', CURRENT_TIMESTAMP);
@@ -0,0 +1,2 @@
+-- Mesmo índice da versão PostgreSQL (H2 não suporta CONCURRENTLY nem índices parciais)
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);
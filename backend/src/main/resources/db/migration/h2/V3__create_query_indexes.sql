@@ -0,0 +1,6 @@
+-- Mesmos índices da versão PostgreSQL (H2 não suporta CONCURRENTLY)
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq_id ON tasks (change_seq, id);
+CREATE INDEX IF NOT EXISTS idx_task_stats_due_date ON task_stats (due_date);
@@ -0,0 +1,23 @@
+-- Mesmo schema da versão PostgreSQL (sem o alinhamento da tabela legada do init-db/setup.sql)
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    username VARCHAR(50)  NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_username_key UNIQUE (username)
+);
+
+INSERT INTO users (username, password)
+SELECT 'admin', '{bcrypt}$2a$10$dgHWzdzgQtXKTDNkDwuUROdT0kFxn7Vt7rPYJKaXi3GweYStizXWC'
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'admin');
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE tasks SET owner_id = (SELECT id FROM users WHERE username = 'admin') WHERE owner_id IS NULL;
+ALTER TABLE tasks ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE tasks ADD CONSTRAINT tasks_owner_fk FOREIGN KEY (owner_id) REFERENCES users (id);
+
+ALTER TABLE task_stats ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE task_stats SET owner_id = (SELECT id FROM users WHERE username = 'admin'),
+                      bucket = CAST((SELECT id FROM users WHERE username = 'admin') AS VARCHAR) || '|' || bucket
+WHERE owner_id IS NULL;
+ALTER TABLE task_stats ALTER COLUMN owner_id SET NOT NULL;
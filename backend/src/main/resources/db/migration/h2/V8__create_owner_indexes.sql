@@ -0,0 +1,12 @@
+-- Mesmos índices da versão PostgreSQL (H2 não suporta CONCURRENTLY)
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_created_at_id ON tasks (owner_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_status_due_date ON tasks (owner_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_due_date ON tasks (owner_id, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_change_seq_id ON tasks (owner_id, change_seq, id);
+CREATE INDEX IF NOT EXISTS idx_task_stats_owner_due_date ON task_stats (owner_id, due_date);
+
+DROP INDEX IF EXISTS idx_tasks_created_at_id;
+DROP INDEX IF EXISTS idx_tasks_status_due_date;
+DROP INDEX IF EXISTS idx_tasks_due_date;
+DROP INDEX IF EXISTS idx_tasks_change_seq_id;
+DROP INDEX IF EXISTS idx_task_stats_due_date;
@@ -0,0 +1,5 @@
+-- Índice da varredura de prazos: percorre (due_date, id) a partir da posição já processada, sem
+-- reler a tabela. Parcial: tarefas removidas e sem prazo nunca são avisadas. Construído sem
+-- bloquear escritas (ver V3).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id)
+    WHERE deleted = false AND due_date IS NOT NULL;
@@ -0,0 +1,59 @@
+-- Alinha bancos criados antes das migrações ao schema da V1. Em bancos novos não altera nada.
+--  * init-db/setup.sql: id SERIAL (integer), title VARCHAR(100), due_date TIMESTAMP, status texto;
+--  * ddl-auto=update: colunas adicionadas ao longo das versões e status texto.
+-- As conversões de tipo reescrevem a tabela sob lock exclusivo: em tabelas grandes,
+-- aplique a migração em uma janela de manutenção.
+
+CREATE FUNCTION pg_temp.column_type(p_table text, p_column text) RETURNS text AS $$
+    SELECT data_type FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = p_table AND column_name = p_column
+$$ LANGUAGE sql;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_seq BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+
+DO $$
+BEGIN
+    IF pg_temp.column_type('tasks', 'id') = 'integer' THEN
+        ALTER TABLE tasks ALTER COLUMN id TYPE BIGINT;
+        ALTER SEQUENCE tasks_id_seq AS BIGINT;
+    END IF;
+
+    IF (SELECT character_maximum_length FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'tasks' AND column_name = 'title') < 255 THEN
+        ALTER TABLE tasks ALTER COLUMN title TYPE VARCHAR(255);
+    END IF;
+
+    IF pg_temp.column_type('tasks', 'due_date') LIKE 'timestamp%' THEN
+        ALTER TABLE tasks ALTER COLUMN due_date TYPE DATE USING due_date::date;
+    END IF;
+
+    -- Status em texto: valores desconhecidos e nulos viram PENDENTE
+    IF pg_temp.column_type('tasks', 'status') IN ('character varying', 'text', 'character') THEN
+        ALTER TABLE tasks ALTER COLUMN status DROP DEFAULT;
+        ALTER TABLE tasks ALTER COLUMN status TYPE SMALLINT USING
+            CASE upper(trim(status)) WHEN 'EM_ANDAMENTO' THEN 1 WHEN 'CONCLUIDA' THEN 2 ELSE 0 END;
+    END IF;
+    IF pg_temp.column_type('task_stats', 'status') IN ('character varying', 'text', 'character') THEN
+        ALTER TABLE task_stats ALTER COLUMN status TYPE SMALLINT USING
+            CASE upper(trim(status)) WHEN 'EM_ANDAMENTO' THEN 1 WHEN 'CONCLUIDA' THEN 2 ELSE 0 END;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'tasks_status_check') THEN
+        ALTER TABLE tasks ADD CONSTRAINT tasks_status_check CHECK (status BETWEEN 0 AND 2);
+    END IF;
+END
+$$;
+
+ALTER TABLE tasks ALTER COLUMN status SET DEFAULT 0;
+ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+
+-- Tabelas criadas pelo Hibernate não tinham default no id (inserts manuais)
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_id_seq');
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+
+-- Substituído por idx_tasks_status_due_date (V3), que atende também os filtros só por status
+DROP INDEX IF EXISTS idx_tasks_status;
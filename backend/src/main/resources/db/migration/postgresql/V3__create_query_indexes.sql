@@ -0,0 +1,17 @@
+-- Índices das consultas da aplicação, construídos com CONCURRENTLY: a tabela continua aceitando
+-- escritas durante a construção. O Flyway executa esta migração fora de transação.
+-- Se ela falhar no meio, o índice pode ficar inválido: remova-o (DROP INDEX CONCURRENTLY)
+-- antes de repetir, pois o IF NOT EXISTS o consideraria pronto.
+
+-- Paginação por cursor (keyset) ordenada por data de criação
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+
+-- Filtros da listagem: status com intervalo de prazo, e apenas prazo
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+
+-- Sincronização incremental a partir do cursor (change_seq, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_change_seq_id ON tasks (change_seq, id);
+
+-- Somas das estatísticas por intervalo de prazo
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_stats_due_date ON task_stats (due_date);
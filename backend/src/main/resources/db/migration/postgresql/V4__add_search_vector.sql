@@ -0,0 +1,29 @@
+-- Busca textual (PostgresTaskSearchEngine): vetor de busca mantido pelo próprio banco a cada
+-- INSERT/UPDATE, com o título com peso A e a descrição com peso B, e pg_trgm para a busca
+-- aproximada. O idioma vem de search.language; trocá-lo depois exige uma nova migração.
+-- Vetor e consulta usam ${searchlanguage}_unaccent, o idioma com o dicionário unaccent antes do
+-- stemming: "acao" encontra "ação" e vice-versa.
+-- Adicionar a coluna gerada reescreve a tabela: em tabelas grandes, use uma janela de manutenção.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent WITH SCHEMA public;
+
+-- Bancos anteriores às migrações já podem ter a configuração, criada pelo PostgresTaskSearchEngine
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = '${searchlanguage}_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION ${searchlanguage}_unaccent (COPY = ${searchlanguage});
+        ALTER TEXT SEARCH CONFIGURATION ${searchlanguage}_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH public.unaccent, ${searchlanguage}_stem;
+    END IF;
+END $$;
+
+-- unaccent() é apenas STABLE (depende do search_path); esta versão com o dicionário fixo
+-- pode ser usada em índices, como o de trigramas do título (V5)
+CREATE OR REPLACE FUNCTION search_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('${searchlanguage}_unaccent', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('${searchlanguage}_unaccent', coalesce(description, '')), 'B')) STORED;
@@ -0,0 +1,3 @@
+-- Índices da busca textual, construídos sem bloquear escritas (ver V3); o de trigramas usa o título sem acentos (V4)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search_vector ON tasks USING gin (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_title_trgm ON tasks USING gin (search_unaccent(title) gin_trgm_ops);
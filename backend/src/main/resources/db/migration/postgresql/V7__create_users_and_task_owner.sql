@@ -0,0 +1,46 @@
+-- Usuários da aplicação e dono de cada tarefa. Em bancos novos cria a tabela users; na tabela
+-- criada pelo init-db/setup.sql (id SERIAL, senha em texto puro) alinha os tipos e marca as senhas
+-- legadas como {noop}: continuam válidas e são convertidas para BCrypt no próximo login.
+-- O usuário admin (senha admin123, a credencial fixa das versões anteriores) é criado se não existir
+-- e recebe as tarefas já existentes, inclusive no resumo de estatísticas.
+-- Preencher owner_id reescreve todas as tarefas: em tabelas grandes, use uma janela de manutenção.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGSERIAL    NOT NULL,
+    username VARCHAR(50)  NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_username_key UNIQUE (username)
+);
+
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'users' AND column_name = 'id') = 'integer' THEN
+        ALTER TABLE users ALTER COLUMN id TYPE BIGINT;
+        ALTER SEQUENCE users_id_seq AS BIGINT;
+    END IF;
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'users' AND column_name = 'password') = 'text' THEN
+        ALTER TABLE users ALTER COLUMN password TYPE VARCHAR(255);
+    END IF;
+END
+$$;
+
+UPDATE users SET password = '{noop}' || password WHERE password NOT LIKE '{%}%';
+
+INSERT INTO users (username, password)
+SELECT 'admin', '{bcrypt}$2a$10$dgHWzdzgQtXKTDNkDwuUROdT0kFxn7Vt7rPYJKaXi3GweYStizXWC'
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'admin');
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE tasks SET owner_id = (SELECT id FROM users WHERE username = 'admin') WHERE owner_id IS NULL;
+ALTER TABLE tasks ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE tasks ADD CONSTRAINT tasks_owner_fk FOREIGN KEY (owner_id) REFERENCES users (id);
+
+-- Resumo por dono: a chave do grupo passa a ser "dono|status|prazo"
+ALTER TABLE task_stats ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE task_stats SET owner_id = (SELECT id FROM users WHERE username = 'admin'),
+                      bucket = CAST((SELECT id FROM users WHERE username = 'admin') AS VARCHAR) || '|' || bucket
+WHERE owner_id IS NULL;
+ALTER TABLE task_stats ALTER COLUMN owner_id SET NOT NULL;
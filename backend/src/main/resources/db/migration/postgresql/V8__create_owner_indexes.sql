@@ -0,0 +1,15 @@
+-- Índices das consultas por dono (V7), construídos sem bloquear escritas (ver V3). Todas as consultas
+-- das tarefas filtram por owner_id, que passa a ser a primeira coluna de cada índice; os índices
+-- globais da V3 deixam de ser usados e são removidos.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_created_at_id ON tasks (owner_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_status_due_date ON tasks (owner_id, status, due_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_due_date ON tasks (owner_id, due_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_change_seq_id ON tasks (owner_id, change_seq, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_stats_owner_due_date ON task_stats (owner_id, due_date);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_created_at_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_status_due_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_due_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_change_seq_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_stats_due_date;
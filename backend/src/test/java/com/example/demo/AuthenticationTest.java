@@ -0,0 +1,112 @@
+package com.example.demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"rate-limit.capacity=10", "rate-limit.refill-per-second=0.01"})
+@AutoConfigureMockMvc
+class AuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveCadastrarEAutenticarUsuario() throws Exception {
+        String username = newUsername();
+        register(username, "senha-secreta").andExpect(status().isCreated())
+                .andExpect(jsonPath("$.username").value(username))
+                .andExpect(jsonPath("$.password").doesNotExist());
+        register(username, "outra-senha").andExpect(status().isConflict());
+        register("x", "senha-secreta").andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"errada\"}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + login(username)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveIsolarAsTarefasDeCadaUsuario() throws Exception {
+        String owner = newUsername();
+        String other = newUsername();
+        register(owner, "senha-secreta");
+        register(other, "senha-secreta");
+        String ownerToken = "Bearer " + login(owner);
+        String otherToken = "Bearer " + login(other);
+
+        String body = mockMvc.perform(post("/api/tasks").header("Authorization", ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Particular\",\"description\":\"d\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(get("/api/tasks/" + id).header("Authorization", ownerToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + id).header("Authorization", otherToken)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks").header("Authorization", otherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/tasks/stats").header("Authorization", otherToken))
+                .andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    void deveLimitarRequisicoesPorUsuario() throws Exception {
+        String noisy = newUsername();
+        String quiet = newUsername();
+        register(noisy, "senha-secreta");
+        register(quiet, "senha-secreta");
+        String noisyToken = "Bearer " + login(noisy);
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/api/tasks").header("Authorization", noisyToken)).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/tasks").header("Authorization", noisyToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").exists());
+
+        // O balde é de cada usuário: os demais não são afetados
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + login(quiet)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "9"));
+    }
+
+    private ResultActions register(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"senha-secreta\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("token").asText();
+    }
+
+    private static String newUsername() {
+        return "user-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry registry;
+    private JwtTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        jwtUtil = spy(new JwtUtil(new JwtKeyRing(properties), properties));
+        registry = new SimpleMeterRegistry();
+        tokenCache = new JwtTokenCache(jwtUtil, registry, 100);
+    }
+
+    @Test
+    void deveVerificarTokenApenasUmaVez() {
+        String token = jwtUtil.generateToken(1L, "admin");
+
+        assertEquals("admin", tokenCache.resolve(token).username());
+        assertEquals("admin", tokenCache.resolve(token).username());
+        assertEquals(1L, tokenCache.resolve(token).userId());
+
+        verify(jwtUtil, times(1)).parseClaims(token);
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void naoDeveCachearTokenInvalido() {
+        String token = jwtUtil.generateToken(1L, "admin") + "x";
+
+        assertThrows(JwtException.class, () -> tokenCache.resolve(token));
+        assertThrows(JwtException.class, () -> tokenCache.resolve(token));
+        assertEquals(0, tokenCache.size());
+    }
+}
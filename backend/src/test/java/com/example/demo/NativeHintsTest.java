@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Task;
+import com.example.demo.repository.TaskDueKey;
+import com.example.demo.service.TaskPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void deveRegistrarOQueOSpringNaoDeduzSozinho() {
+        new NativeHintsConfig.Hints().registerHints(hints, getClass().getClassLoader());
+
+        // Os nomes precisam existir: um erro de digitação só apareceria na imagem nativa
+        for (String type : NativeHintsConfig.JJWT_CLASSES) {
+            assertDoesNotThrow(() -> Class.forName(type), type);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/common/V9__create_task_due_scans.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V10__create_due_date_index.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TaskDueKey.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(Task.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(TaskPage.class).test(hints));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ObservabilityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser("admin")
+    void deveExporMetricasDaApiNoFormatoPrometheus() throws Exception {
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer invalido"))
+                .andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(metrics.contains("jwt_validation_failures_total{application=\"task-api\",reason=\"malformed\"} 1.0"), metrics);
+        assertTrue(metrics.contains("http_server_requests_seconds_count{application=\"task-api\""));
+        assertTrue(metrics.contains("tasks_service_seconds_count{"));
+        assertTrue(metrics.contains("method=\"listTasks\""));
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(metrics.contains("hikaricp_connections_active{"));
+        assertTrue(metrics.contains("jvm_memory_used_bytes{"));
+    }
+
+    @Test
+    void deveProtegerOsDemaisEndpointsDoActuator() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.search;
+
+import com.example.demo.model.AppUser;
+import com.example.demo.model.Task;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Busca textual contra um PostgreSQL real (o H2 dos demais testes usa o índice em memória).
+ * Roda apenas com -Dtest.postgres.url=jdbc:postgresql://... apontando para um banco UTF-8;
+ * usuário e senha vêm de test.postgres.username/test.postgres.password.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+class PostgresTaskSearchEngineTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("test.postgres.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("test.postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("test.postgres.password", ""));
+        registry.add("search.engine", () -> "postgres");
+    }
+
+    @Autowired
+    private TaskSearchEngine searchEngine;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbc;
+
+    private Long owner;
+
+    @BeforeEach
+    void setUp() {
+        // Em bancos SQL_ASCII o parser não reconhece letras acentuadas como parte das palavras
+        assumeTrue("UTF8".equals(jdbc.queryForObject("SHOW server_encoding", String.class)), "Banco sem codificação UTF-8");
+        // Um usuário novo por teste isola os resultados das tarefas já existentes no banco
+        AppUser user = new AppUser();
+        user.setUsername("busca-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setPassword("{noop}senha");
+        owner = userRepository.save(user).getId();
+    }
+
+    @Test
+    void deveIgnorarAcentosNoVetorENaConsulta() {
+        assertInstanceOf(PostgresTaskSearchEngine.class, searchEngine);
+        Long accented = create("Planejar ação", "Revisar a descrição do contrato");
+        Long plain = create("Revisao do orcamento", "Sem acentos");
+
+        TaskSearchPage page = search("acao descricao");
+        assertFalse(page.approximate());
+        assertEquals(List.of(accented), ids(page));
+        assertEquals("Planejar <mark>ação</mark>", page.hits().get(0).titleHighlight());
+
+        assertEquals(List.of(plain), ids(search("revisão orçamento")));
+        // Prefixo com e sem acento
+        assertEquals(List.of(accented), ids(search("descriç")));
+        assertEquals(List.of(accented), ids(search("descric")));
+    }
+
+    @Test
+    void deveCairParaTrigramasSemAcentos() {
+        Long id = create("Migração", "Trocar o servidor");
+
+        TaskSearchPage page = search("migrasao");
+        assertTrue(page.approximate());
+        assertEquals(List.of(id), ids(page));
+    }
+
+    @Test
+    void deveLimitarCandidatosAsCorrespondenciasMaisRecentes() {
+        Long oldest = create("Relatório semanal", "Resumo completo");
+        Long middle = create("Relatório mensal", "Resumo");
+        Long newest = create("Relatório anual", "Resumo");
+        SearchProperties properties = new SearchProperties();
+        properties.setMaxCandidates(2);
+        PostgresTaskSearchEngine engine = new PostgresTaskSearchEngine(namedJdbc, properties);
+
+        // A mais antiga teria a maior relevância, mas fica fora dos candidatos
+        TaskSearchPage page = engine.search(owner, SearchHighlighter.terms("relatorio resumo"), 0, 10);
+        assertTrue(page.approximate());
+        assertEquals(List.of(newest, middle), ids(page));
+
+        properties.setMaxCandidates(3);
+        page = engine.search(owner, SearchHighlighter.terms("relatorio resumo"), 0, 10);
+        assertFalse(page.approximate());
+        assertEquals(3, page.hits().size());
+        assertTrue(ids(page).contains(oldest));
+    }
+
+    private Long create(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        return taskService.saveTask(owner, task).getId();
+    }
+
+    private TaskSearchPage search(String query) {
+        return searchEngine.search(owner, SearchHighlighter.terms(query), 0, 10);
+    }
+
+    private static List<Long> ids(TaskSearchPage page) {
+        return page.hits().stream().map(TaskSearchHit::id).toList();
+    }
+}
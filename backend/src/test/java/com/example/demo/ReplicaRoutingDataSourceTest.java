@@ -0,0 +1,82 @@
+package com.example.demo.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate reads;
+    private TransactionTemplate writes;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", database("replica-0")));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+        writes = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.endRequest();
+    }
+
+    @Test
+    void deveEnviarLeiturasParaReplicasDisponiveisEEscritasParaOPrimario() {
+        // Nenhuma réplica medida ainda: tudo no primário
+        assertEquals("primary", read());
+
+        routing.setAvailable(List.of("replica-0"));
+        assertEquals("replica-0", read());
+        assertEquals("primary", writes.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class)));
+
+        // Read-your-writes: a requisição de quem escreveu há pouco lê do primário
+        ReplicaRoutingDataSource.beginRequest(true);
+        assertEquals("primary", read());
+        ReplicaRoutingDataSource.endRequest();
+
+        // Réplica atrasada ou fora do ar sai do rodízio
+        routing.setAvailable(List.of());
+        assertEquals("primary", read());
+    }
+
+    @Test
+    void deveConverterPosicoesDoWal() {
+        assertEquals(0x16_B374D848L, ReplicaLagMonitor.parseLsn("16/B374D848"));
+        assertTrue(ReplicaLagMonitor.parseLsn("1/0") > ReplicaLagMonitor.parseLsn("0/FFFFFFFF"));
+        assertNull(ReplicaLagMonitor.parseLsn(null));
+    }
+
+    private String read() {
+        return reads.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
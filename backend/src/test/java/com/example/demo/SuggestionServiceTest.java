@@ -0,0 +1,116 @@
+package com.example.demo.suggestion;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testa a integração de sugestões contra um servidor HTTP local (stub),
+ * que pode responder normalmente, com erro ou ficar parado até o fim do teste.
+ */
+class SuggestionServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int statusCode = 200;
+    private volatile boolean stalled;
+    // Liberado no tearDown: enquanto isso, um stub parado não responde
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch received = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/posts/1", exchange -> {
+            hits.incrementAndGet();
+            received.countDown();
+            if (stalled) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"body\":\"Sugestão do stub\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(statusCode, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    // Timeout folgado nos testes que esperam resposta, para não depender da velocidade da máquina
+    private SuggestionService newService() {
+        return newService(Duration.ofSeconds(10));
+    }
+
+    private SuggestionService newService(Duration readTimeout) {
+        SuggestionProperties properties = new SuggestionProperties();
+        properties.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/posts/1");
+        properties.setReadTimeout(readTimeout);
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        return new SuggestionService(properties);
+    }
+
+    @Test
+    void deveCachearSugestaoObtida() {
+        SuggestionService service = newService();
+
+        assertNull(service.getCachedSuggestion());
+        assertEquals("Sugestão do stub", service.getSuggestion());
+        assertEquals("Sugestão do stub", service.getSuggestion());
+        assertEquals("Sugestão do stub", service.getCachedSuggestion());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void deveRetornarFallbackQuandoServicoLento() throws InterruptedException {
+        stalled = true;
+        // O timeout cobre também o envio: curto demais, a requisição é cancelada antes de chegar ao stub
+        SuggestionService service = newService(Duration.ofSeconds(2));
+
+        // O stub só responde no tearDown: a sugestão só pode vir do timeout de leitura
+        assertEquals(SuggestionService.FALLBACK, service.getSuggestion());
+        assertTrue(received.await(10, TimeUnit.SECONDS), "Stub não recebeu a requisição");
+        assertEquals(1, hits.get());
+        assertNull(service.getCachedSuggestion());
+    }
+
+    @Test
+    void deveAbrirCircuitoAposFalhasConsecutivas() {
+        statusCode = 500;
+        SuggestionService service = newService();
+
+        assertEquals(SuggestionService.FALLBACK, service.getSuggestion());
+        assertEquals(SuggestionService.FALLBACK, service.getSuggestion());
+        assertEquals(CircuitBreaker.State.OPEN, service.getCircuitState());
+
+        // Com o circuito aberto, o fallback é devolvido sem tocar no servidor
+        statusCode = 200;
+        assertEquals(SuggestionService.FALLBACK, service.getSuggestion());
+        assertEquals(2, hits.get());
+    }
+}
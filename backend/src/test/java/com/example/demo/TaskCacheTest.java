@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TaskFilter pendentes = new TaskFilter(TaskStatus.PENDENTE, null, null);
+    private Long owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        repository.deleteAll();
+        owner = userRepository.findByUsername("admin").orElseThrow().getId();
+        task = new Task();
+        task.setOwnerId(owner);
+        task.setTitle("Cacheada");
+        task.setDescription("Descrição");
+        task = repository.save(task);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @Test
+    void deveServirLeiturasDoCacheEInvalidarNaAtualizacao() {
+        taskService.getTask(owner, task.getId());
+        taskService.listTasks(owner, pendentes, "id", "asc", null, 50);
+        assertNotNull(cache(CacheConfig.TASKS).get(TaskCacheEvictor.key(owner, task.getId())));
+        assertNotNull(cache(CacheConfig.TASK_LISTS).get(owner + "|PENDENTE|id|asc|50"));
+
+        // Escrita direta no banco: o cache continua devolvendo o valor anterior
+        repository.replaceDescription(task.getId(), "Descrição", "Alterada por fora", 0L, LocalDateTime.now());
+        assertEquals("Descrição", taskService.getTask(owner, task.getId()).getDescription());
+
+        Task details = new Task();
+        details.setTitle("Atualizada");
+        details.setDescription("Nova");
+        details.setStatus(TaskStatus.CONCLUIDA);
+        taskService.updateTask(owner, task.getId(), details, null);
+
+        assertNull(cache(CacheConfig.TASKS).get(TaskCacheEvictor.key(owner, task.getId())));
+        assertNull(cache(CacheConfig.TASK_LISTS).get(owner + "|PENDENTE|id|asc|50"));
+        assertEquals("Atualizada", taskService.getTask(owner, task.getId()).getTitle());
+        assertTrue(taskService.listTasks(owner, pendentes, "id", "asc", null, 50).items().isEmpty());
+    }
+
+    @Test
+    void naoDeveCachearPaginasComCursorOuFiltroDePrazo() {
+        taskService.listTasks(owner, new TaskFilter(TaskStatus.PENDENTE, java.time.LocalDate.now(), null), "id", "asc", null, 50);
+        taskService.listTasks(owner, pendentes, "id", "asc", "MQ", 50);
+
+        assertNull(cache(CacheConfig.TASK_LISTS).get(owner + "|PENDENTE|id|asc|50"));
+    }
+
+    @Test
+    void deveInvalidarCacheNasOperacoesEmLote() {
+        taskService.getTask(owner, task.getId());
+        taskService.listTasks(owner, pendentes, "id", "asc", null, 50);
+
+        taskService.deleteTasks(owner, List.of(task.getId()));
+
+        assertNull(cache(CacheConfig.TASKS).get(TaskCacheEvictor.key(owner, task.getId())));
+        assertNull(cache(CacheConfig.TASK_LISTS).get(owner + "|PENDENTE|id|asc|50"));
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(owner, task.getId()));
+    }
+
+    @Test
+    void deveExporMetricasDoCache() {
+        taskService.getTask(owner, task.getId());
+        taskService.getTask(owner, task.getId());
+
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASKS).tag("result", "hit")
+                .functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", CacheConfig.TASKS).functionCounter());
+    }
+}
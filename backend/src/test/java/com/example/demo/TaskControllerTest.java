@@ -0,0 +1,375 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.service.TaskStatsTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser("admin")
+class TaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private TaskStatsTracker statsTracker;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        Long owner = userRepository.findByUsername("admin").orElseThrow().getId();
+        for (int i = 0; i < 7; i++) {
+            Task task = new Task();
+            task.setOwnerId(owner);
+            task.setTitle("Tarefa " + i);
+            task.setDescription("Descrição " + i);
+            task.setStatus(i % 2 == 0 ? TaskStatus.PENDENTE : TaskStatus.CONCLUIDA);
+            task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i));
+            repository.save(task);
+        }
+    }
+
+    @Test
+    void devePercorrerTodasAsPaginasPeloCursor() throws Exception {
+        Set<String> titles = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/tasks").param("limit", "3").param("sort", "createdAt");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            String body = result.getResponse().getContentAsString();
+            for (int i = 0; i < 7; i++) {
+                if (body.contains("\"Tarefa " + i + "\"")) {
+                    assertTrue(titles.add("Tarefa " + i), "Tarefa repetida entre páginas");
+                }
+            }
+            cursor = result.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, titles.size());
+    }
+
+    @Test
+    void deveFiltrarPorStatusEPrazo() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "PENDENTE")
+                        .param("dueFrom", "2026-01-02")
+                        .param("dueTo", "2026-01-06"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Tarefa 2"))
+                .andExpect(jsonPath("$[1].title").value("Tarefa 4"));
+    }
+
+    @Test
+    void deveRejeitarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "@@invalido@@"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveExportarEmNdjson() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks")
+                        .accept(TaskController.APPLICATION_NDJSON_VALUE)
+                        .param("status", "CONCLUIDA"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TaskController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"Tarefa 1\""));
+    }
+
+    @Test
+    void deveCriarAtualizarERemoverEmLote() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Lote A\",\"description\":\"a\"},{\"title\":\"\"},{\"title\":\"Lote B\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[1].success").value(false))
+                .andExpect(jsonPath("$.items[2].id").isNumber())
+                .andReturn();
+        String body = created.getResponse().getContentAsString();
+        long idA = JsonPath.<Number>read(body, "$.items[0].id").longValue();
+        long idB = JsonPath.<Number>read(body, "$.items[2].id").longValue();
+        // O bloco inteiro recebe um único número da sequência de mudanças, gravado depois das linhas
+        long createdSeq = repository.findById(idA).orElseThrow().getChangeSeq();
+        assertTrue(createdSeq > 0);
+        assertEquals(createdSeq, repository.findById(idB).orElseThrow().getChangeSeq());
+
+        mockMvc.perform(patch("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + idA + ",\"status\":\"CONCLUIDA\"},{\"id\":999999,\"status\":\"CONCLUIDA\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[1].error").value("Tarefa não encontrada"));
+        Task updated = repository.findById(idA).orElseThrow();
+        assertEquals(TaskStatus.CONCLUIDA, updated.getStatus());
+        assertEquals("Lote A", updated.getTitle());
+        assertTrue(updated.getChangeSeq() > createdSeq);
+
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + idA + "," + idB + ",999999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1));
+        assertFalse(repository.existsById(idA));
+        assertFalse(repository.existsById(idB));
+    }
+
+    @Test
+    void deveResponder304QuandoColecaoNaoMudou() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks").param("status", "PENDENTE"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks").param("status", "PENDENTE").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Outra query string é outra representação
+        mockMvc.perform(get("/api/tasks").param("status", "CONCLUIDA").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nova\",\"description\":\"d\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").param("status", "PENDENTE").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)));
+    }
+
+    @Test
+    void deveNegociarCborNasRespostasENosCorpos() throws Exception {
+        CBORMapper cbor = new CBORMapper();
+        byte[] body = cbor.writeValueAsBytes(java.util.Map.of("title", "Binária", "description", "d", "dueDate", "2026-03-01"));
+        byte[] created = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode task = cbor.readTree(created);
+        assertEquals("Binária", task.get("title").asText());
+        // Mesmos valores do JSON: datas em ISO-8601, status pelo nome
+        assertEquals("2026-03-01", task.get("dueDate").asText());
+        assertEquals("PENDENTE", task.get("status").asText());
+
+        byte[] list = mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", org.hamcrest.Matchers.hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(8, cbor.readTree(list).size());
+
+        // Sem preferência, continua JSON
+        mockMvc.perform(get("/api/tasks").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void deveAplicarConcorrenciaOtimistaComIfMatch() throws Exception {
+        Task task = repository.findAll().get(0);
+        String etag = mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        String body = "{\"title\":\"Editada\",\"description\":\"d\",\"status\":\"PENDENTE\"}";
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(body).header("If-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        // Segunda escrita com a ETag antiga: outra requisição já alterou a tarefa
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(body).header("If-Match", etag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deveSincronizarApenasAlteracoesDesdeOCursor() throws Exception {
+        String initial = mockMvc.perform(get("/api/tasks/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted.length()").value(7))
+                .andExpect(jsonPath("$.deleted.length()").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(initial, "$.nextCursor");
+
+        // Sem alterações: nada a sincronizar, cursor mantido
+        mockMvc.perform(get("/api/tasks/changes").param("since", cursor))
+                .andExpect(jsonPath("$.upserted.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").value(cursor));
+
+        List<Task> existing = repository.findAll();
+        Task edited = existing.get(0);
+        Task removed = existing.get(1);
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nova\",\"description\":\"d\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + edited.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Editada\",\"description\":\"d\",\"status\":\"PENDENTE\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + removed.getId())).andExpect(status().isOk());
+
+        // Paginação de uma alteração por vez: as três chegam na ordem em que foram gravadas
+        String first = mockMvc.perform(get("/api/tasks/changes").param("since", cursor).param("limit", "1"))
+                .andExpect(jsonPath("$.upserted[0].title").value("Nova"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/tasks/changes").param("since", JsonPath.<String>read(first, "$.nextCursor")))
+                .andExpect(jsonPath("$.upserted.length()").value(1))
+                .andExpect(jsonPath("$.upserted[0].title").value("Editada"))
+                .andExpect(jsonPath("$.deleted[0]").value(removed.getId()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // O tombstone não aparece nas consultas normais
+        mockMvc.perform(get("/api/tasks/" + removed.getId())).andExpect(status().isNotFound());
+        assertEquals(7, repository.count());
+    }
+
+    @Test
+    void deveBuscarPorPalavraComRelevanciaEDestaque() throws Exception {
+        String body = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Revisar contrato Zebrafish\",\"description\":\"Enviar ao jurídico\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.<Number>read(body, "$.id").longValue();
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Arquivar\",\"description\":\"Contrato zebrafish antigo\"}"))
+                .andExpect(status().isOk());
+
+        // Prefixo, sem acento e sem diferenciar maiúsculas; o título pesa mais que a descrição
+        mockMvc.perform(get("/api/tasks/search").param("q", "zebra CONTRATO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.length()").value(2))
+                .andExpect(jsonPath("$.hits[0].id").value(id))
+                .andExpect(jsonPath("$.hits[0].titleHighlight").value("Revisar <mark>contrato</mark> <mark>Zebrafish</mark>"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "zebra").param("size", "1"))
+                .andExpect(jsonPath("$.hits.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        // Índice atualizado após a remoção
+        mockMvc.perform(delete("/api/tasks/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/search").param("q", "revisar zebra"))
+                .andExpect(jsonPath("$.hits.length()").value(0));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "  !! "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveManterEstatisticasAtualizadasPelasEscritas() throws Exception {
+        // O setUp grava direto no repositório: a reconciliação corrige o resumo
+        statsTracker.reconcile();
+        String before = mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7))
+                .andExpect(jsonPath("$.byStatus.PENDENTE").value(4))
+                .andExpect(jsonPath("$.byStatus.CONCLUIDA").value(3))
+                .andReturn().getResponse().getContentAsString();
+        int overdue = JsonPath.read(before, "$.overdue");
+        int dueThisWeek = JsonPath.read(before, "$.dueThisWeek");
+
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Hoje\",\"description\":\"d\",\"dueDate\":\"" + today + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Ontem\",\"description\":\"d\",\"dueDate\":\"" + today.minusDays(1) + "\"}"))
+                .andExpect(status().isOk());
+        Task pending = repository.findAll().stream().filter(t -> t.getStatus() == TaskStatus.PENDENTE).findFirst().orElseThrow();
+        mockMvc.perform(patch("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + pending.getId() + ",\"status\":\"CONCLUIDA\"}]"))
+                .andExpect(jsonPath("$.succeeded").value(1));
+        mockMvc.perform(delete("/api/tasks/" + pending.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(jsonPath("$.total").value(8))
+                .andExpect(jsonPath("$.byStatus.PENDENTE").value(5))
+                .andExpect(jsonPath("$.byStatus.CONCLUIDA").value(3))
+                .andExpect(jsonPath("$.overdue").value(overdue + 1 - (pending.getDueDate().isBefore(today) ? 1 : 0)))
+                .andExpect(jsonPath("$.dueThisWeek").value(dueThisWeek + 1));
+
+        // Sem divergência: o resumo acompanhou as escritas
+        assertEquals(0, statsTracker.reconcile());
+    }
+
+    @Test
+    void deveValidarStatusESuasTransicoes() throws Exception {
+        Task task = repository.findAll().stream().filter(t -> t.getStatus() == TaskStatus.CONCLUIDA).findFirst().orElseThrow();
+        String body = "{\"title\":\"t\",\"description\":\"d\",\"status\":\"%s\"}";
+
+        // Concluída só pode ser reaberta
+        mockMvc.perform(put("/api/tasks/" + task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted("EM_ANDAMENTO")))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/tasks/" + task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted("PENDENTE")))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted("EM_ANDAMENTO")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"));
+
+        mockMvc.perform(put("/api/tasks/" + task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted("ARQUIVADA")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("status", "ARQUIVADA"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("status", "EM_ANDAMENTO"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.demo.due;
+
+import com.example.demo.model.AppUser;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskDueNotification;
+import com.example.demo.model.TaskDueScan;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.repository.TaskDueNotificationRepository;
+import com.example.demo.repository.TaskDueScanRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@RecordApplicationEvents
+class TaskDueSchedulerTest {
+
+    @Autowired
+    private TaskDueScheduler scheduler;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDueScanRepository scanRepository;
+
+    @Autowired
+    private TaskDueNotificationRepository notificationRepository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskDueProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void deveAvisarCadaTarefaUmaVezApenasPelaInstanciaComOLease() {
+        Long owner = userRepository.findByUsername("admin").orElseThrow().getId();
+        LocalDate today = LocalDate.now();
+        Long overdue = create(owner, today.minusDays(1), TaskStatus.PENDENTE);
+        Long done = create(owner, today.minusDays(1), TaskStatus.CONCLUIDA);
+        Long dueToday = create(owner, today, TaskStatus.EM_ANDAMENTO);
+        Long dueTomorrow = create(owner, today.plusDays(1), TaskStatus.PENDENTE);
+        Long later = create(owner, today.plusDays(5), TaskStatus.PENDENTE);
+
+        scheduler.run();
+        Set<Long> overdueIds = ids(TaskDueEvent.Kind.OVERDUE, owner);
+        Set<Long> reminderIds = ids(TaskDueEvent.Kind.REMINDER, owner);
+        assertTrue(overdueIds.contains(overdue));
+        assertFalse(overdueIds.contains(done));
+        assertTrue(reminderIds.containsAll(List.of(dueToday, dueTomorrow)));
+        assertFalse(reminderIds.contains(overdue));
+        assertFalse(reminderIds.contains(later));
+
+        // A posição já passou dessas tarefas: a próxima execução não as avisa de novo
+        events.clear();
+        scheduler.run();
+        assertEquals(0, events.stream(TaskDueEvent.class).count());
+
+        // Tarefa que aparece atrás da posição (commit fora da ordem dos ids, ou prazo já varrido dentro
+        // da janela): a releitura da janela a avisa, uma única vez
+        Long behind = create(owner, today, TaskStatus.PENDENTE);
+        scheduler.run();
+        assertEquals(Set.of(behind), ids(TaskDueEvent.Kind.REMINDER, owner));
+        events.clear();
+        scheduler.run();
+        assertEquals(0, events.stream(TaskDueEvent.class).count());
+
+        // Outra instância não processa enquanto o lease estiver válido
+        Long another = create(owner, today.plusDays(1), TaskStatus.PENDENTE);
+        TaskDueScheduler other = new TaskDueScheduler(taskRepository, scanRepository, notificationRepository,
+                eventPublisher, transactionTemplate, properties, new SimpleMeterRegistry(), "outra-instancia");
+        assertEquals(0, other.process(TaskDueEvent.Kind.REMINDER, today));
+        scheduler.run();
+        assertEquals(Set.of(another), ids(TaskDueEvent.Kind.REMINDER, owner));
+
+        assertTrue(meterRegistry.get("tasks.due.batch.size").tag("kind", "REMINDER").summary().count() >= 3);
+        assertTrue(meterRegistry.get("tasks.due.notified").tag("kind", "OVERDUE").counter().count() >= 1);
+        assertTrue(meterRegistry.get("tasks.due.lag").tag("kind", "OVERDUE").gauge().value() < 60);
+    }
+
+    @Test
+    void deveAvisarUmaVezTarefaQueApareceAtrasDaPosicao() {
+        Long owner = newOwner();
+        LocalDate today = LocalDate.now();
+        create(owner, today, TaskStatus.PENDENTE);
+        scheduler.run();
+        TaskDueScan scan = scanRepository.findById(TaskDueEvent.Kind.REMINDER.name()).orElseThrow();
+        assertFalse(scan.getCursorDueDate().isBefore(today));
+
+        // Simula um commit fora de ordem: a posição já passou por um id maior no mesmo prazo
+        // antes de a tarefa ficar visível
+        Long behind = create(owner, scan.getCursorDueDate(), TaskStatus.PENDENTE);
+        jdbc.update("UPDATE task_due_scans SET cursor_id = ? WHERE kind = ?", behind + 1, scan.getKind());
+
+        events.clear();
+        scheduler.run();
+        assertEquals(Set.of(behind), ids(TaskDueEvent.Kind.REMINDER, owner));
+        assertEquals(1, events.stream(TaskDueEvent.class)
+                .filter(event -> event.kind() == TaskDueEvent.Kind.REMINDER)
+                .flatMap(event -> event.ids().stream())
+                .filter(behind::equals)
+                .count());
+
+        events.clear();
+        scheduler.run();
+        assertEquals(Set.of(), ids(TaskDueEvent.Kind.REMINDER, owner));
+    }
+
+    @Test
+    void deveAvisarDeNovoQuandoOPrazoMudaDentroDaJanela() {
+        Long owner = newOwner();
+        LocalDate today = LocalDate.now();
+        Long id = create(owner, today, TaskStatus.PENDENTE);
+        scheduler.run();
+        assertEquals(Set.of(id), ids(TaskDueEvent.Kind.REMINDER, owner));
+
+        // Prazo já varrido, mas outra data da janela: novo aviso
+        Task details = taskService.getTask(owner, id);
+        details.setDueDate(today.plusDays(1));
+        taskService.updateTask(owner, id, details, null);
+        events.clear();
+        scheduler.run();
+        assertEquals(Set.of(id), ids(TaskDueEvent.Kind.REMINDER, owner));
+        assertTrue(notificationRepository.existsById(notification(id, today)));
+        assertTrue(notificationRepository.existsById(notification(id, today.plusDays(1))));
+
+        events.clear();
+        scheduler.run();
+        assertEquals(Set.of(), ids(TaskDueEvent.Kind.REMINDER, owner));
+
+        // No dia seguinte o aviso do prazo antigo sai da janela e é removido; o do prazo atual fica
+        events.clear();
+        scheduler.process(TaskDueEvent.Kind.REMINDER, today.plusDays(1));
+        assertFalse(notificationRepository.existsById(notification(id, today)));
+        assertTrue(notificationRepository.existsById(notification(id, today.plusDays(1))));
+        assertEquals(Set.of(), ids(TaskDueEvent.Kind.REMINDER, owner));
+    }
+
+    private Long newOwner() {
+        AppUser user = new AppUser();
+        user.setUsername("prazo-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setPassword("{noop}senha");
+        return userRepository.save(user).getId();
+    }
+
+    private static TaskDueNotification.Key notification(Long taskId, LocalDate dueDate) {
+        return new TaskDueNotification.Key(TaskDueEvent.Kind.REMINDER.name(), taskId, dueDate);
+    }
+
+    private Long create(Long owner, LocalDate dueDate, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Prazo " + dueDate);
+        task.setDescription("d");
+        task.setDueDate(dueDate);
+        task.setStatus(status);
+        return taskService.saveTask(owner, task).getId();
+    }
+
+    private Set<Long> ids(TaskDueEvent.Kind kind, Long owner) {
+        return events.stream(TaskDueEvent.class)
+                .filter(event -> event.kind() == kind && event.ownerId().equals(owner))
+                .flatMap(event -> event.ids().stream())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.push;
+
+import com.example.demo.model.Task;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.service.TaskChangedEvent;
+import com.example.demo.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser("admin")
+class TaskEventBroadcasterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private TaskEventBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deveEnviarAlteracoesAgrupadasAosAssinantes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(meterRegistry.get("tasks.events.connections").gauge().value() >= 1);
+
+        Long owner = userRepository.findByUsername("admin").orElseThrow().getId();
+        Task task = new Task();
+        task.setTitle("Notificada");
+        task.setDescription("d");
+        Task saved = taskService.saveTask(owner, task);
+        task.setTitle("Notificada e editada");
+        taskService.updateTask(owner, saved.getId(), task, null);
+        broadcaster.flush();
+
+        String expected = "event:tasks\ndata:{\"created\":[" + saved.getId() + "],\"updated\":[],\"deleted\":[]}";
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(result.getResponse().getContentAsString().contains(expected),
+                result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void deveCombinarAlteracoesDoMesmoId() {
+        assertEquals(TaskChangedEvent.Type.CREATED,
+                TaskEventBroadcaster.coalesce(TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.UPDATED));
+        assertEquals(TaskChangedEvent.Type.DELETED,
+                TaskEventBroadcaster.coalesce(TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.DELETED));
+        assertEquals(TaskChangedEvent.Type.DELETED,
+                TaskEventBroadcaster.coalesce(TaskChangedEvent.Type.UPDATED, TaskChangedEvent.Type.DELETED));
+    }
+}
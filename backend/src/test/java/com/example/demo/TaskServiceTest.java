@@ -2,11 +2,13 @@ package com.example.demo.service;
 
 import com.example.demo.model.Task;
 import com.example.demo.repository.TaskRepository;
+import com.example.demo.suggestion.SuggestionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -16,6 +18,21 @@ class TaskServiceTest {
     @Mock
     private TaskRepository repository;
 
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private TaskDescriptionEnricher descriptionEnricher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskChangeTracker changeTracker;
+
+    @Mock
+    private TaskStatsTracker statsTracker;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -35,7 +52,7 @@ class TaskServiceTest {
         when(repository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // Act (Ação)
-        Task savedTask = taskService.saveTask(taskInput);
+        Task savedTask = taskService.saveTask(1L, taskInput);
 
         // Assert (Verificação)
         assertNotNull(savedTask.getDescription());
@@ -43,6 +60,24 @@ class TaskServiceTest {
         verify(repository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void deveUsarSugestaoEmCacheSemAgendarEnriquecimento() {
+        // Arrange
+        Task taskInput = new Task();
+        taskInput.setTitle("Tarefa sem descrição");
+
+        when(suggestionService.getCachedSuggestion()).thenReturn("Sugestão em cache");
+        when(repository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Task savedTask = taskService.saveTask(1L, taskInput);
+
+        // Assert
+        assertEquals("Sugestão externa: Sugestão em cache", savedTask.getDescription());
+        verify(suggestionService, never()).getSuggestion();
+        verifyNoInteractions(descriptionEnricher);
+    }
+
     @Test
     void deveManterDescricaoSeUsuarioInformar() {
         // Arrange
@@ -53,7 +88,7 @@ class TaskServiceTest {
         when(repository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // Act
-        Task savedTask = taskService.saveTask(taskInput);
+        Task savedTask = taskService.saveTask(1L, taskInput);
 
         // Assert
         assertEquals("Minha descrição manual", savedTask.getDescription());
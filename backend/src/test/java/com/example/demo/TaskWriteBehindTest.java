@@ -0,0 +1,182 @@
+package com.example.demo.writebehind;
+
+import com.example.demo.model.Task;
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.service.TaskNotFoundException;
+import com.example.demo.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "tasks.write-behind.enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser("admin")
+class TaskWriteBehindTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("tasks.write-behind.directory", () -> journalDirectory.resolve("app").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private TaskWriteBehind writeBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deveAceitarEscritasEAplicarNoBancoEmSegundoPlano() throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Assíncrona\",\"description\":\"d\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(body, Task.class).getId();
+        awaitTrue(() -> exists(id));
+
+        mockMvc.perform(put("/api/tasks/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Primeira\",\"description\":\"d\",\"status\":\"EM_ANDAMENTO\"}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(put("/api/tasks/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Segunda\",\"description\":\"d\",\"status\":\"CONCLUIDA\"}"))
+                .andExpect(status().isAccepted());
+        // Aplicadas na ordem em que foram aceitas
+        awaitTrue(() -> exists(id) && "Segunda".equals(taskService.getTask(admin(), id).getTitle()));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"sem título\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/tasks/" + id)).andExpect(status().isAccepted());
+        awaitTrue(() -> !exists(id));
+        awaitTrue(() -> writeBehind.lag() == 0);
+        assertEquals(0.0, meterRegistry.get("tasks.writebehind.lag").gauge().value());
+        assertTrue(meterRegistry.get("tasks.writebehind.applied").counter().count() >= 4);
+    }
+
+    @Test
+    void deveReabrirOJournalDescartandoRegistroIncompleto(@TempDir Path directory) throws IOException {
+        try (TaskJournal journal = TaskJournal.open(directory, 4096)) {
+            long last = 0;
+            for (int i = 1; i <= 300; i++) {
+                last = journal.append(("registro " + i).getBytes(StandardCharsets.UTF_8));
+            }
+            journal.sync(last);
+            assertEquals(300, last);
+        }
+        // Escrita interrompida após o último registro: tamanho gravado, conteúdo não
+        Path current;
+        try (Stream<Path> files = Files.list(directory)) {
+            current = files.filter(file -> file.toString().endsWith(".journal")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        try (TaskJournal journal = TaskJournal.open(directory, 4096)) {
+            long end = journal.lastSeq();
+            assertEquals(300, end);
+            try (FileChannel channel = FileChannel.open(current, StandardOpenOption.WRITE)) {
+                ByteBuffer torn = ByteBuffer.allocate(12).putInt(100).putLong(301).flip();
+                channel.write(torn, sizeOfRecords(current));
+            }
+        }
+
+        try (TaskJournal journal = TaskJournal.open(directory, 4096)) {
+            assertEquals(300, journal.lastSeq());
+            List<Long> replayed = new ArrayList<>();
+            journal.replay(295, entry -> replayed.add(entry.seq()));
+            assertEquals(List.of(296L, 297L, 298L, 299L, 300L), replayed);
+            assertEquals(301, journal.append("depois".getBytes(StandardCharsets.UTF_8)));
+
+            // Segmentos já aplicados são removidos; o corrente permanece
+            long segments = countSegments(directory);
+            assertTrue(segments > 1);
+            journal.release(300);
+            assertEquals(1, countSegments(directory));
+            List<Long> remaining = new ArrayList<>();
+            journal.replay(0, entry -> remaining.add(entry.seq()));
+            assertEquals(301L, remaining.get(remaining.size() - 1));
+        }
+    }
+
+    private boolean exists(Long id) {
+        try {
+            taskService.getTask(admin(), id);
+            return true;
+        } catch (TaskNotFoundException e) {
+            return false;
+        }
+    }
+
+    private Long admin() {
+        return userRepository.findByUsername("admin").orElseThrow().getId();
+    }
+
+    // Posição do fim dos dados no segmento (primeiro tamanho zero)
+    private static long sizeOfRecords(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int offset = 0;
+        while (offset + 16 <= data.capacity() && data.getInt(offset) > 0) {
+            offset += 16 + data.getInt(offset);
+        }
+        return offset;
+    }
+
+    private static long countSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -1,17 +1,7 @@
-CREATE TABLE users (
-    id SERIAL PRIMARY KEY,
-    username VARCHAR(50) UNIQUE NOT NULL,
-    password TEXT NOT NULL
-);
+-- Dados de exemplo. O schema (inclusive a tabela users e o usuário admin / admin123) é criado pelas
+-- migrações Flyway do backend (backend/src/main/resources/db/migration): execute este script após a
+-- primeira inicialização. Novos usuários são cadastrados por POST /api/auth/register.
 
-CREATE TABLE tasks (
-    id SERIAL PRIMARY KEY,
-    title VARCHAR(100) NOT NULL,
-    description TEXT,
-    due_date TIMESTAMP,
-    status VARCHAR(20) DEFAULT 'PENDENTE'
-);
-
--- Dados de exemplo [cite: 49]
-INSERT INTO users (username, password) VALUES ('admin', 'admin123');
-INSERT INTO tasks (title, description, status) VALUES ('Primeira Tarefa', 'Finalizar o desafio técnico', 'EM_ANDAMENTO');
+-- status 1 = EM_ANDAMENTO (código de TaskStatus); a tarefa pertence ao admin
+INSERT INTO tasks (owner_id, title, description, status, created_at)
+SELECT id, 'Primeira Tarefa', 'Finalizar o desafio técnico', 1, now() FROM users WHERE username = 'admin';